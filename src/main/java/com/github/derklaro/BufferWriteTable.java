@@ -0,0 +1,190 @@
+/*
+ * This file is part of intera, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) Pasqual Koschmieder <https://github.com/derklaro>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.github.derklaro;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.io.IOException;
+import java.nio.Buffer;
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+import java.util.function.IntFunction;
+
+/**
+ * A write table holding the precomputed rome numbers in a byte buffer, usually a direct or
+ * memory-mapped one, which adds nearly nothing to the heap size. The buffer layout is the same
+ * as in an {@link InteraSnapshot}: an offset index with one int per number (and a leading zero)
+ * followed by the chars of all numbers, each stored as unsigned byte index of its association.
+ *
+ * @author Pasqual Koschmieder
+ * @since 1.1.0
+ */
+final class BufferWriteTable implements WriteTable {
+  /**
+   * The maximum amount of associations a buffer table can store chars of.
+   */
+  public static final int MAX_ASSOCIATIONS = 256;
+
+  /**
+   * The association chars, indexed by the bytes stored in the char buffer.
+   */
+  private final char[] symbols;
+  /**
+   * The start offset of each number in the char buffer, followed by the end offset of the last number.
+   */
+  private final ByteBuffer offsets;
+  /**
+   * The association indexes of the chars of all numbers.
+   */
+  private final ByteBuffer chars;
+  private final int highestNumber;
+
+  BufferWriteTable(char[] symbols, ByteBuffer offsets, ByteBuffer chars) {
+    this.symbols = symbols;
+    this.offsets = offsets;
+    this.chars = chars;
+    this.highestNumber = offsets.capacity() / Integer.BYTES - 1;
+  }
+
+  /**
+   * Computes the rome numbers of all arabic numbers from {@code 1} up to the given number into
+   * direct buffers.
+   *
+   * @param symbols       The association chars, at most {@link #MAX_ASSOCIATIONS}.
+   * @param highestNumber The highest arabic number to precompute.
+   * @param writer        The writer of the rome numbers, returning {@code null} for unwritable numbers.
+   * @return The table holding the computed rome numbers.
+   * @throws InteraException If there are too many associations or the numbers are too long.
+   */
+  static @NotNull BufferWriteTable compute(char[] symbols, int highestNumber, @NotNull IntFunction<String> writer) {
+    if (symbols.length > MAX_ASSOCIATIONS) {
+      throw new InteraException("Off heap precomputation supports at most " + MAX_ASSOCIATIONS + " associations");
+    }
+
+    int highestSymbol = 0;
+    for (char symbol : symbols) {
+      highestSymbol = Math.max(highestSymbol, symbol);
+    }
+    final int[] indexes = new int[highestSymbol + 1];
+    for (int i = 0; i < symbols.length; i++) {
+      indexes[symbols[i]] = i;
+    }
+
+    final ByteBuffer offsets = ByteBuffer.allocateDirect((highestNumber + 1) * Integer.BYTES);
+    ByteBuffer chars = ByteBuffer.allocateDirect(Math.max(16, highestNumber * 4));
+    offsets.putInt(0);
+    for (int number = 1; number <= highestNumber; number++) {
+      final String rome = writer.apply(number);
+      if (rome != null) {
+        if (chars.remaining() < rome.length()) {
+          chars = grow(chars, rome.length());
+        }
+        for (int i = 0; i < rome.length(); i++) {
+          chars.put((byte) indexes[rome.charAt(i)]);
+        }
+      }
+      offsets.putInt(chars.position());
+    }
+
+    // cast to buffer to stay compatible with java 8 which has no covariant overrides
+    ((Buffer) chars).flip();
+    final ByteBuffer trimmed = ByteBuffer.allocateDirect(chars.remaining());
+    ((Buffer) trimmed.put(chars)).flip();
+    ((Buffer) offsets).flip();
+    return new BufferWriteTable(Arrays.copyOf(symbols, symbols.length), offsets, trimmed);
+  }
+
+  /**
+   * Copies the given buffer into a new direct buffer with room for at least the given amount of bytes.
+   *
+   * @param buffer   The buffer to grow.
+   * @param required The amount of bytes which must fit into the grown buffer.
+   * @return The grown buffer, positioned behind the copied bytes.
+   * @throws InteraException If the required size exceeds the maximum buffer size.
+   */
+  private static @NotNull ByteBuffer grow(@NotNull ByteBuffer buffer, int required) {
+    final long capacity = Math.max((long) buffer.capacity() << 1, (long) buffer.position() + required);
+    if (capacity > Integer.MAX_VALUE) {
+      throw new InteraException("Precomputed numbers exceed the maximum off heap table size");
+    }
+
+    final ByteBuffer grown = ByteBuffer.allocateDirect((int) capacity);
+    ((Buffer) buffer).flip();
+    grown.put(buffer);
+    return grown;
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public int getHighestNumber() {
+    return this.highestNumber;
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public @Nullable String get(int number) {
+    if (number < 1 || number > this.highestNumber) {
+      return null;
+    }
+
+    final int start = this.offsets.getInt((number - 1) * Integer.BYTES);
+    final int end = this.offsets.getInt(number * Integer.BYTES);
+    if (start >= end) {
+      return null;
+    }
+
+    final char[] rome = new char[end - start];
+    for (int i = 0; i < rome.length; i++) {
+      rome[i] = this.symbols[this.chars.get(start + i) & 0xFF];
+    }
+    return new String(rome);
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public boolean appendTo(int number, @NotNull Appendable target) throws IOException {
+    if (number < 1 || number > this.highestNumber) {
+      return false;
+    }
+
+    final int start = this.offsets.getInt((number - 1) * Integer.BYTES);
+    final int end = this.offsets.getInt(number * Integer.BYTES);
+    if (start >= end) {
+      return false;
+    }
+
+    for (int i = start; i < end; i++) {
+      target.append(this.symbols[this.chars.get(i) & 0xFF]);
+    }
+    return true;
+  }
+}
@@ -0,0 +1,75 @@
+/*
+ * This file is part of intera, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) Pasqual Koschmieder <https://github.com/derklaro>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.github.derklaro;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.nio.ByteBuffer;
+import java.util.function.IntPredicate;
+
+/**
+ * A default implementation of {@link Intera.Decoder}, parsing directly from the given text.
+ * Use {@link Intera#newDecoder()} to create an instance of this class.
+ *
+ * @author Pasqual Koschmieder
+ * @since 1.1.0
+ */
+final class DefaultDecoder implements Intera.Decoder {
+
+  private final DefaultIntera intera;
+  /**
+   * The filter accepting the associated chars when decoding byte buffers.
+   */
+  private final IntPredicate symbols;
+  /**
+   * The filter accepting the ignored chars when decoding byte buffers.
+   */
+  private final IntPredicate ignored;
+  private final Utf8CharReader reader = new Utf8CharReader();
+
+  DefaultDecoder(@NotNull DefaultIntera intera) {
+    this.intera = intera;
+    this.symbols = c -> intera.isSymbol((char) c);
+    this.ignored = c -> intera.isIgnored((char) c);
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public int decode(@NotNull CharSequence text, int start, int end) throws InteraException {
+    Utils.notNull(text, "text");
+    return this.intera.decode(text, start, end);
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public int decode(@NotNull ByteBuffer buffer) throws InteraException {
+    Utils.notNull(buffer, "buffer");
+    return this.reader.decode(buffer, this.symbols, this.ignored, this);
+  }
+}
@@ -0,0 +1,57 @@
+/*
+ * This file is part of intera, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) Pasqual Koschmieder <https://github.com/derklaro>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.github.derklaro;
+
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * A default implementation of {@link Intera.Encoder}, writing into a reused internal buffer.
+ * Use {@link Intera#newEncoder()} to create an instance of this class.
+ *
+ * @author Pasqual Koschmieder
+ * @since 1.1.0
+ */
+final class DefaultEncoder implements Intera.Encoder {
+
+  private final DefaultIntera intera;
+  /**
+   * The buffer holding the last encoded rome number.
+   */
+  private final StringBuilder buffer = new StringBuilder(16);
+
+  DefaultEncoder(@NotNull DefaultIntera intera) {
+    this.intera = intera;
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public @NotNull CharSequence encode(int number) throws InteraException {
+    this.buffer.setLength(0);
+    this.intera.encode(number, this.buffer);
+    return this.buffer;
+  }
+}
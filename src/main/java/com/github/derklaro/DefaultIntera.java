@@ -25,10 +25,13 @@
 package com.github.derklaro;
 
 import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
 
-import java.util.AbstractMap;
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.HashMap;
 import java.util.Map;
-import java.util.Set;
+import java.util.function.IntFunction;
 
 /**
  * A default implementation of {@link Intera}. Use {@link Intera#builder()} to create
@@ -38,15 +41,125 @@
  * @since 1.0.0
  */
 final class DefaultIntera implements Intera {
+  /**
+   * The result of {@link #tryDecode(CharSequence, int, int)} if the text is not a valid rome number.
+   */
+  static final long INVALID = Long.MIN_VALUE;
+  /**
+   * The association index of chars which are skipped when parsing.
+   */
+  private static final int IGNORED = -1;
 
   private final int maxCharsInRow;
   private final SubtractionValidator subtractionValidator;
-  private final Map<Character, Integer> associations;
+  /**
+   * The associated chars, in the iteration order of the associations this instance was created from.
+   */
+  private final char[] symbols;
+  /**
+   * The arabic values of the associated chars, in the same order as {@link #symbols}.
+   */
+  private final int[] values;
+  /**
+   * The index of the association used to subtract from the association at the same index.
+   */
+  private final int[] subtrahends;
+  /**
+   * If the case of chars is ignored when parsing.
+   */
+  private final boolean ignoreCase;
+  /**
+   * The chars which are skipped when parsing.
+   */
+  private final char[] ignoredChars;
+  /**
+   * All chars known when parsing, including case variants and ignored chars, sorted for binary searches.
+   */
+  private final char[] lookupChars;
+  /**
+   * The index of the association of the chars in {@link #lookupChars}, {@link #IGNORED} for ignored chars.
+   */
+  private final int[] lookupIndexes;
+  /**
+   * The precomputed rome numbers of this instance.
+   */
+  private final WriteTable writeTable;
+  /**
+   * The cache of numbers which are not precomputed, {@code null} if caching is disabled.
+   */
+  private final NumberCache cache;
 
-  protected DefaultIntera(int maxCharsInRow, SubtractionValidator subtractionValidator, Map<Character, Integer> associations) {
+  protected DefaultIntera(
+    int maxCharsInRow,
+    SubtractionValidator subtractionValidator,
+    Map<Character, Integer> associations,
+    boolean ignoreCase,
+    char[] ignoredChars,
+    WriteTable writeTable
+  ) {
     this.maxCharsInRow = maxCharsInRow;
     this.subtractionValidator = subtractionValidator;
-    this.associations = associations;
+    this.ignoreCase = ignoreCase;
+    this.ignoredChars = ignoredChars.clone();
+    this.writeTable = writeTable;
+    this.cache = null;
+
+    // capture the associations, the write algorithm depends on their iteration order
+    this.symbols = new char[associations.size()];
+    this.values = new int[associations.size()];
+    int index = 0;
+    for (Map.Entry<Character, Integer> entry : associations.entrySet()) {
+      this.symbols[index] = entry.getKey();
+      this.values[index++] = entry.getValue();
+    }
+
+    this.subtrahends = new int[this.symbols.length];
+    for (int i = 0; i < this.symbols.length; i++) {
+      this.subtrahends[i] = this.findSubtrahend(i);
+    }
+
+    // build the parse lookup once, so that case folding and skipping chars cost no additional lookup
+    final Map<Character, Integer> lookup = new HashMap<>();
+    for (int i = 0; i < this.symbols.length; i++) {
+      lookup.put(this.symbols[i], i);
+    }
+    if (ignoreCase) {
+      for (int i = 0; i < this.symbols.length; i++) {
+        lookup.putIfAbsent(Character.toUpperCase(this.symbols[i]), i);
+        lookup.putIfAbsent(Character.toLowerCase(this.symbols[i]), i);
+      }
+    }
+    for (char ignoredChar : this.ignoredChars) {
+      final Integer previous = lookup.put(ignoredChar, IGNORED);
+      if (previous != null && previous != IGNORED) {
+        throw new InteraException("Char " + ignoredChar + " is associated and can not be ignored");
+      }
+    }
+
+    this.lookupChars = new char[lookup.size()];
+    index = 0;
+    for (char c : lookup.keySet()) {
+      this.lookupChars[index++] = c;
+    }
+    Arrays.sort(this.lookupChars);
+    this.lookupIndexes = new int[this.lookupChars.length];
+    for (int i = 0; i < this.lookupChars.length; i++) {
+      this.lookupIndexes[i] = lookup.get(this.lookupChars[i]);
+    }
+  }
+
+  private DefaultIntera(@NotNull DefaultIntera intera, @NotNull WriteTable writeTable, @Nullable NumberCache cache) {
+    this.maxCharsInRow = intera.maxCharsInRow;
+    this.subtractionValidator = intera.subtractionValidator;
+    this.symbols = intera.symbols;
+    this.values = intera.values;
+    this.subtrahends = intera.subtrahends;
+    this.ignoreCase = intera.ignoreCase;
+    this.ignoredChars = intera.ignoredChars;
+    this.lookupChars = intera.lookupChars;
+    this.lookupIndexes = intera.lookupIndexes;
+    this.writeTable = writeTable;
+    this.cache = cache;
   }
 
   /**
@@ -55,21 +168,17 @@ protected DefaultIntera(int maxCharsInRow, SubtractionValidator subtractionValid
   @Override
   public int parse(@NotNull String rome) throws InteraException {
     Utils.notNull(rome, "rome");
-    final char[] chars = Utils.ensureValid(rome, this.maxCharsInRow);
-    int result = 0;
-    for (int i = 0; i < chars.length; i++) {
-      final int association = this.associate(chars[i]);
-      if (i < chars.length - 1) {
-        final int nextAssociation = this.associate(chars[i + 1]);
-        if (nextAssociation > association) {
-          Utils.checkIllegalSubtraction(this.subtractionValidator, nextAssociation, association);
-          result += nextAssociation - association;
-          i++; // skip next
-          continue;
-        }
-      }
-      result += association;
+    if (this.cache == null) {
+      return this.decode(rome, 0, rome.length());
     }
+
+    final long cached = this.cache.getParsed(rome);
+    if (cached != NumberCache.MISSING) {
+      return (int) cached;
+    }
+
+    final int result = this.decode(rome, 0, rome.length());
+    this.cache.putParsed(rome, result);
     return result;
   }
 
@@ -78,117 +187,386 @@ public int parse(@NotNull String rome) throws InteraException {
    */
   @Override
   public @NotNull String write(int number) throws InteraException {
+    final String precomputed = this.writeTable.get(number);
+    if (precomputed != null) {
+      return precomputed;
+    }
+    this.checkNotPrecomputed(number);
+
+    final String cached = this.cache == null ? null : this.cache.getWritten(number);
+    if (cached != null) {
+      return cached;
+    }
+
     final StringBuilder builder = new StringBuilder();
-    final int highestPossible = this.getHighestAssociation();
-    final Set<Map.Entry<Character, Integer>> entries = this.associations.entrySet();
+    this.computeNumber(number, builder);
+    final String rome = builder.toString();
+    if (this.cache != null) {
+      this.cache.putWritten(number, rome);
+    }
+    return rome;
+  }
 
-    Map.Entry<String, Integer> lastFound = null;
-    while (number > 0) {
-      for (Map.Entry<Character, Integer> entry : entries) {
-        if (lastFound == null || entry.getValue() > lastFound.getValue()) {
-          if (number >= entry.getValue()) {
-            lastFound = new AbstractMap.SimpleEntry<>(String.valueOf(entry.getKey()), entry.getValue());
-          } else {
-            Map.Entry<Character, Integer> entryValue = null;
-            for (Map.Entry<Character, Integer> entry2 : entries) {
-              if (entryValue == null) {
-                entryValue = entry2;
-              } else if (!this.subtractionValidator.isIllegalSubtraction(entry.getValue(), entry2.getValue())) {
-                final int i = entry.getValue() - entry2.getValue();
-                if (i > 0 && entry.getValue() - entryValue.getValue() < i) {
-                  entryValue = entry2;
-                }
-              }
-            }
-            final int i = entryValue == null ? 0 : entry.getValue() - entryValue.getValue();
-            if (i > 0 && number >= entry.getValue() - entryValue.getValue()) {
-              lastFound = new AbstractMap.SimpleEntry<>(entryValue.getKey() + "" + entry.getKey(), entry.getValue() - entryValue.getValue());
-            }
-          }
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public void writeTo(int number, @NotNull Appendable target) throws InteraException {
+    Utils.notNull(target, "target");
+    try {
+      if (!this.writeTable.appendTo(number, target)) {
+        target.append(this.write(number));
+      }
+    } catch (IOException exception) {
+      throw new InteraException("Unable to append rome number of " + number, exception);
+    }
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public @Nullable CacheStats cacheStats() {
+    return this.cache;
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public @NotNull Encoder newEncoder() {
+    return new DefaultEncoder(this);
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public @NotNull Decoder newDecoder() {
+    return new DefaultDecoder(this);
+  }
+
+  /**
+   * Parses the rome number in the given range of the given text, without copying it.
+   *
+   * @param text  The text holding the rome number.
+   * @param start The index of the first char of the rome number, inclusive.
+   * @param end   The index of the last char of the rome number, exclusive.
+   * @return The arabic value of the rome number.
+   * @throws InteraException If the range is out of bounds or the text is not a valid rome number.
+   */
+  int decode(@NotNull CharSequence text, int start, int end) throws InteraException {
+    if (start < 0 || end > text.length() || start > end) {
+      throw new InteraException("Range " + start + " to " + end + " is out of bounds for length " + text.length());
+    }
+    return (int) this.decode(text, start, end, true);
+  }
+
+  /**
+   * Parses the rome number in the given range of the given text, without copying it.
+   *
+   * @param text        The text holding the rome number.
+   * @param start       The index of the first char of the rome number, inclusive.
+   * @param end         The index of the last char of the rome number, exclusive.
+   * @param throwErrors If an exception should be thrown when the text is not a valid rome number.
+   * @return The arabic value of the rome number or {@link #INVALID} if the text is not a valid rome number.
+   * @throws InteraException If the text is not a valid rome number and errors should be thrown.
+   */
+  private long decode(@NotNull CharSequence text, int start, int end, boolean throwErrors) throws InteraException {
+    int result = 0;
+    int run = 0;
+    int previous = IGNORED;
+    // the value of the previous char, if it was not yet added to the result as it might get subtracted
+    int pending = 0;
+    boolean hasPending = false;
+    for (int i = start; i < end; i++) {
+      final char c = text.charAt(i);
+      final int lookupIndex = Arrays.binarySearch(this.lookupChars, c);
+      if (lookupIndex < 0) {
+        if (throwErrors) {
+          throw new InteraException("There is no known association for char " + c);
         }
+        return INVALID;
       }
-      if (lastFound == null) {
-        throw new InteraException("Unable find next node to travel over current number index " + number);
+
+      final int index = this.lookupIndexes[lookupIndex];
+      if (index == IGNORED) {
+        continue;
       }
-      if (number < highestPossible && this.maxCharsInRow > 1 && builder.length() > 1) {
-        int hits = 1;
-        char c = builder.charAt(builder.length() - 1);
-        while (builder.length() - hits >= 1 && hits <= this.maxCharsInRow) {
-          final char before = builder.charAt(builder.length() - hits);
-          if (before != c) {
-            break;
-          }
-          c = before;
-          hits++;
+
+      run = index == previous ? run + 1 : 1;
+      if (this.maxCharsInRow > 1 && run > this.maxCharsInRow) {
+        if (throwErrors) {
+          throw new InteraException("More than " + this.maxCharsInRow + " chars of " + this.symbols[index] + " in a row");
         }
-        if (hits > this.maxCharsInRow + 1) {
-          builder.delete(builder.length() - hits, builder.length());
-          final int association = this.associate(c);
-          final int targetNumber = association * hits;
-          final Map.Entry<Character, Integer> next = this.upOne(association);
-
-          for (Map.Entry<Character, Integer> entry : entries) {
-            if (next.getValue() - entry.getValue() == targetNumber) {
-              builder.append(entry.getKey()).append(next.getKey()).append(lastFound.getKey());
-              number -= lastFound.getValue();
-              lastFound = null;
-              break;
-            }
+        return INVALID;
+      }
+      previous = index;
+
+      final int association = this.values[index];
+      if (!hasPending) {
+        pending = association;
+        hasPending = true;
+      } else if (association > pending) {
+        if (this.subtractionValidator.isIllegalSubtraction(association, pending)) {
+          if (throwErrors) {
+            throw new InteraException("Cannot subtract " + pending + " from " + association);
           }
-          continue;
+          return INVALID;
         }
+        result += association - pending;
+        hasPending = false;
+      } else {
+        result += pending;
+        pending = association;
       }
-      builder.append(lastFound.getKey());
-      number -= lastFound.getValue();
-      lastFound = null;
     }
+    return hasPending ? result + pending : result;
+  }
+
+  /**
+   * Parses the rome number in the given range of the given text, without copying it or throwing
+   * an exception if the text is not a valid rome number.
+   *
+   * @param text  The text holding the rome number.
+   * @param start The index of the first char of the rome number, inclusive.
+   * @param end   The index of the last char of the rome number, exclusive.
+   * @return The arabic value of the rome number or {@link #INVALID} if the text is not a valid rome number.
+   */
+  long tryDecode(@NotNull CharSequence text, int start, int end) {
+    return this.decode(text, start, end, false);
+  }
+
+  /**
+   * Checks if the given char is associated with an arabic number, taking ignored case into account.
+   *
+   * @param c The char to check.
+   * @return If the given char is associated with an arabic number.
+   */
+  boolean isSymbol(char c) {
+    final int lookupIndex = Arrays.binarySearch(this.lookupChars, c);
+    return lookupIndex >= 0 && this.lookupIndexes[lookupIndex] != IGNORED;
+  }
+
+  /**
+   * Checks if the given char is skipped when parsing.
+   *
+   * @param c The char to check.
+   * @return If the given char is skipped when parsing.
+   */
+  boolean isIgnored(char c) {
+    final int lookupIndex = Arrays.binarySearch(this.lookupChars, c);
+    return lookupIndex >= 0 && this.lookupIndexes[lookupIndex] == IGNORED;
+  }
+
+  /**
+   * Appends the rome number of the given arabic number to the given builder, using the precomputed
+   * or cached number if available. Computed numbers are not added to the cache.
+   *
+   * @param number  The number to write.
+   * @param builder The builder to append the rome number to.
+   * @throws InteraException If any exception occurs during the write.
+   */
+  void encode(int number, @NotNull StringBuilder builder) throws InteraException {
+    try {
+      if (!this.writeTable.appendTo(number, builder)) {
+        this.checkNotPrecomputed(number);
+        final String cached = this.cache == null ? null : this.cache.getWritten(number);
+        if (cached != null) {
+          builder.append(cached);
+        } else {
+          this.computeNumber(number, builder);
+        }
+      }
+    } catch (IOException exception) {
+      // a string builder never throws an exception
+      throw new InteraException("Unable to append rome number of " + number, exception);
+    }
+  }
+
+  /**
+   * Creates a copy of this instance with all numbers from {@code 1} up to the given number precomputed.
+   *
+   * @param highestPrecomputed The highest arabic number to precompute.
+   * @param offHeap            If the numbers should be stored off heap.
+   * @param shortest           If the shortest rome numbers should be precomputed.
+   * @return A copy of this instance with the numbers precomputed, or this instance if nothing should be precomputed.
+   */
+  @NotNull DefaultIntera precompute(int highestPrecomputed, boolean offHeap, boolean shortest) {
+    if (highestPrecomputed < 1) {
+      return this;
+    }
+
+    final IntFunction<String> writer;
+    if (shortest) {
+      writer = new ShortestNumberWriter(
+        this.symbols,
+        this.values,
+        this.subtractionValidator,
+        this.maxCharsInRow,
+        highestPrecomputed)::write;
+    } else {
+      writer = number -> {
+        try {
+          final StringBuilder builder = new StringBuilder();
+          this.computeNumber(number, builder);
+          return builder.toString();
+        } catch (InteraException exception) {
+          // not writeable, the write call will throw an exception
+          return null;
+        }
+      };
+    }
+    return new DefaultIntera(this, offHeap
+      ? BufferWriteTable.compute(this.symbols, highestPrecomputed, writer)
+      : HeapWriteTable.compute(highestPrecomputed, writer), this.cache);
+  }
+
+  /**
+   * Creates a copy of this instance with a cache in front of parse and write.
+   *
+   * @param memoryBudget The approximate amount of bytes the cache may use.
+   * @return A copy of this instance with a cache, or this instance if caching should be disabled.
+   */
+  @NotNull DefaultIntera cache(long memoryBudget) {
+    return memoryBudget < 1 ? this : new DefaultIntera(this, this.writeTable, new NumberCache(memoryBudget));
+  }
 
-    return builder.toString();
+  /**
+   * Gets the maximum amount of same chars allowed in a row.
+   *
+   * @return the maximum amount of same chars allowed in a row.
+   */
+  int getMaxCharsInRow() {
+    return this.maxCharsInRow;
+  }
+
+  /**
+   * Gets the subtraction validator of this instance.
+   *
+   * @return the subtraction validator of this instance.
+   */
+  @NotNull SubtractionValidator getSubtractionValidator() {
+    return this.subtractionValidator;
+  }
+
+  /**
+   * Gets if the case of chars is ignored when parsing.
+   *
+   * @return if the case of chars is ignored when parsing.
+   */
+  boolean isIgnoreCase() {
+    return this.ignoreCase;
+  }
+
+  /**
+   * Gets the chars which are skipped when parsing.
+   *
+   * @return the chars which are skipped when parsing.
+   */
+  char[] getIgnoredChars() {
+    return this.ignoredChars;
+  }
+
+  /**
+   * Gets the associated chars, in the iteration order of the associations this instance was created from.
+   *
+   * @return the associated chars of this instance.
+   */
+  char[] getSymbols() {
+    return this.symbols;
   }
 
   /**
-   * Associates the given char with the arabic number.
+   * Gets the arabic values of the associated chars, in the same order as {@link #getSymbols()}.
    *
-   * @param c The char to associate.
-   * @return The arabic association of the char.
-   * @throws InteraException If there is no association with the given char.
+   * @return the arabic values of the associated chars of this instance.
    */
-  private int associate(char c) throws InteraException {
-    final Integer association = this.associations.get(c);
-    if (association == null) {
-      throw new InteraException("There is no known association for char " + c);
+  int[] getValues() {
+    return this.values;
+  }
+
+  /**
+   * Gets the precomputed rome numbers of this instance.
+   *
+   * @return the precomputed rome numbers of this instance.
+   */
+  @NotNull WriteTable getWriteTable() {
+    return this.writeTable;
+  }
+
+  /**
+   * Throws an exception if the given number is in the precomputed range, as precomputed numbers
+   * without a precomputed rome number can not be written. Writing them greedily instead might
+   * produce a rome number which is not parsed back to the same number.
+   *
+   * @param number The number to check.
+   * @throws InteraException If the given number is in the precomputed range.
+   */
+  private void checkNotPrecomputed(int number) throws InteraException {
+    if (number > 0 && number <= this.writeTable.getHighestNumber()) {
+      throw new InteraException("Unable to write number " + number + " using the associations");
     }
-    return association;
   }
 
   /**
-   * Gets the next association with the given number which is higher than the current one.
+   * Computes the rome number of the given arabic {@code number} by walking over all associations.
    *
-   * @param current The current number.
-   * @return The higher association or {@code null} if there is no association.
+   * @param number  The number to write.
+   * @param builder The builder to append the rome number to.
+   * @throws InteraException If any exception occurs during the write.
    */
-  private Map.Entry<Character, Integer> upOne(int current) {
-    Map.Entry<Character, Integer> last = null;
-    for (Map.Entry<Character, Integer> entry : this.associations.entrySet()) {
-      if (last == null || (entry.getValue() > current && last.getValue() > entry.getValue())) {
-        last = entry;
+  private void computeNumber(int number, @NotNull StringBuilder builder) throws InteraException {
+    while (number > 0) {
+      int found = -1;
+      int foundSubtrahend = -1;
+      int foundValue = 0;
+      for (int i = 0; i < this.symbols.length; i++) {
+        if (found == -1 || this.values[i] > foundValue) {
+          if (number >= this.values[i]) {
+            found = i;
+            foundSubtrahend = -1;
+            foundValue = this.values[i];
+          } else {
+            final int difference = this.values[i] - this.values[this.subtrahends[i]];
+            if (difference > 0 && number >= difference) {
+              found = i;
+              foundSubtrahend = this.subtrahends[i];
+              foundValue = difference;
+            }
+          }
+        }
+      }
+      if (found == -1) {
+        throw new InteraException("Unable find next node to travel over current number index " + number);
       }
+
+      if (foundSubtrahend != -1) {
+        builder.append(this.symbols[foundSubtrahend]);
+      }
+      builder.append(this.symbols[found]);
+      number -= foundValue;
     }
-    return last;
   }
 
   /**
-   * Gets the highest association which is known to this instance.
+   * Finds the association which gets subtracted from the association at the given index when
+   * writing a number smaller than the association.
    *
-   * @return the highest association which is known to this instance.
+   * @param index The index of the association to subtract from.
+   * @return The index of the association to subtract.
    */
-  private int getHighestAssociation() {
-    int result = 0;
-    for (Integer value : this.associations.values()) {
-      if (value > result) {
-        result = value;
+  private int findSubtrahend(int index) {
+    final int value = this.values[index];
+    int subtrahend = 0;
+    for (int i = 1; i < this.values.length; i++) {
+      if (!this.subtractionValidator.isIllegalSubtraction(value, this.values[i])) {
+        final int difference = value - this.values[i];
+        if (difference > 0 && value - this.values[subtrahend] < difference) {
+          subtrahend = i;
+        }
       }
     }
-    return result;
+    return subtrahend;
   }
 }
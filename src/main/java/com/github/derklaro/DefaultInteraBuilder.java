@@ -49,6 +49,30 @@ final class DefaultInteraBuilder implements Intera.Builder {
    * The subtraction validator to use.
    */
   private SubtractionValidator subtractionValidator = SubtractionValidator.defaults();
+  /**
+   * If the case of rome number chars is ignored when parsing.
+   */
+  private boolean ignoreCase = false;
+  /**
+   * The chars which are skipped when parsing.
+   */
+  private char[] ignoredChars = new char[0];
+  /**
+   * The highest arabic number to precompute, less than {@code 1} means disabled.
+   */
+  private int highestPrecomputed = 0;
+  /**
+   * If the precomputed numbers should be stored off heap.
+   */
+  private boolean precomputeOffHeap = false;
+  /**
+   * If the shortest rome numbers should be precomputed instead of the greedily written ones.
+   */
+  private boolean precomputeShortest = false;
+  /**
+   * The approximate amount of bytes the cache may use, less than {@code 1} means disabled.
+   */
+  private long cacheMemoryBudget = 0;
 
   /**
    * {@inheritDoc}
@@ -98,6 +122,61 @@ final class DefaultInteraBuilder implements Intera.Builder {
     return this;
   }
 
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public Intera.@NotNull Builder ignoreCase(boolean ignoreCase) {
+    this.ignoreCase = ignoreCase;
+    return this;
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public Intera.@NotNull Builder ignoredChars(char @NotNull... ignoredChars) {
+    Utils.notNull(ignoredChars, "ignoredChars");
+    this.ignoredChars = ignoredChars.clone();
+    return this;
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public Intera.@NotNull Builder precompute(int highestNumber) {
+    this.highestPrecomputed = highestNumber;
+    return this;
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public Intera.@NotNull Builder precomputeOffHeap(boolean offHeap) {
+    this.precomputeOffHeap = offHeap;
+    return this;
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public Intera.@NotNull Builder precomputeShortest(boolean shortest) {
+    this.precomputeShortest = shortest;
+    return this;
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public Intera.@NotNull Builder cache(long memoryBudget) {
+    this.cacheMemoryBudget = memoryBudget;
+    return this;
+  }
+
   /**
    * {@inheritDoc}
    */
@@ -106,6 +185,14 @@ final class DefaultInteraBuilder implements Intera.Builder {
     if (this.associations.isEmpty()) {
       throw new InteraException("At least one association is required");
     }
-    return new DefaultIntera(this.maxCharsInRow, this.subtractionValidator, this.associations);
+    return new DefaultIntera(
+      this.maxCharsInRow,
+      this.subtractionValidator,
+      this.associations,
+      this.ignoreCase,
+      this.ignoredChars,
+      HeapWriteTable.EMPTY)
+      .precompute(this.highestPrecomputed, this.precomputeOffHeap, this.precomputeShortest)
+      .cache(this.cacheMemoryBudget);
   }
 }
@@ -0,0 +1,117 @@
+/*
+ * This file is part of intera, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) Pasqual Koschmieder <https://github.com/derklaro>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.github.derklaro;
+
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * A count-min sketch estimating how often a key was accessed recently, using four 4-bit counters
+ * per key. All counters are halved periodically so that the sketch forgets old accesses. Updates
+ * are not synchronized, concurrent updates might get lost which only makes the estimation slightly
+ * less accurate. Saturated counters are never written again and the halving is triggered randomly
+ * instead of by a shared counter, so frequently accessed keys cause no writes shared between threads.
+ *
+ * @author Pasqual Koschmieder
+ * @since 1.1.0
+ */
+final class FrequencySketch {
+  /**
+   * The seeds used to derive the counter index of each of the four rows from the key hash.
+   */
+  private static final long[] SEEDS = {0xc3a5c85c97cb3127L, 0xb492b66fbe98f273L, 0x9ae16a3b2f90404fL, 0xcbf29ce484222325L};
+  /**
+   * A mask to halve all 4-bit counters of a long at once.
+   */
+  private static final long RESET_MASK = 0x7777777777777777L;
+
+  /**
+   * The counters, each long holds sixteen 4-bit counters.
+   */
+  private final long[] table;
+  /**
+   * The average amount of increments after which all counters are halved.
+   */
+  private final int sampleSize;
+
+  FrequencySketch(int capacity) {
+    this.table = new long[Math.max(1, capacity >> 2)];
+    // computed as long, ten times a capacity of 2^28 or more does not fit into an int
+    this.sampleSize = (int) Math.min(Integer.MAX_VALUE, Math.max(16L, capacity * 10L));
+  }
+
+  /**
+   * Gets the estimated amount of recent accesses to the key with the given hash.
+   *
+   * @param hash The hash of the key.
+   * @return The estimated amount of recent accesses, at most {@code 15}.
+   */
+  int frequency(int hash) {
+    int frequency = Integer.MAX_VALUE;
+    for (long seed : SEEDS) {
+      final int index = this.indexOf(hash, seed);
+      frequency = Math.min(frequency, (int) (this.table[index >>> 4] >>> ((index & 15) << 2)) & 0xF);
+    }
+    return frequency;
+  }
+
+  /**
+   * Records an access to the key with the given hash.
+   *
+   * @param hash The hash of the key.
+   */
+  void increment(int hash) {
+    boolean added = false;
+    for (long seed : SEEDS) {
+      final int index = this.indexOf(hash, seed);
+      final int shift = (index & 15) << 2;
+      // read once, another thread might saturate the counter in between which would make the
+      // increment overflow into the neighbouring counter
+      final long counters = this.table[index >>> 4];
+      if (((counters >>> shift) & 0xF) != 0xF) {
+        this.table[index >>> 4] = counters + (1L << shift);
+        added = true;
+      }
+    }
+
+    if (added && ThreadLocalRandom.current().nextInt(this.sampleSize) == 0) {
+      for (int i = 0; i < this.table.length; i++) {
+        this.table[i] = (this.table[i] >>> 1) & RESET_MASK;
+      }
+    }
+  }
+
+  /**
+   * Gets the index of the counter of the key with the given hash in the row with the given seed.
+   *
+   * @param hash The hash of the key.
+   * @param seed The seed of the row.
+   * @return The index of the counter, spanning all counters of the table.
+   */
+  private int indexOf(int hash, long seed) {
+    long index = (hash + seed) * seed;
+    index += index >>> 32;
+    return (int) (index & ((this.table.length << 4) - 1));
+  }
+}
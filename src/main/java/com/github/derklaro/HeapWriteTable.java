@@ -0,0 +1,98 @@
+/*
+ * This file is part of intera, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) Pasqual Koschmieder <https://github.com/derklaro>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.github.derklaro;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.io.IOException;
+import java.util.function.IntFunction;
+
+/**
+ * A write table holding the precomputed rome numbers as strings on the heap.
+ *
+ * @author Pasqual Koschmieder
+ * @since 1.1.0
+ */
+final class HeapWriteTable implements WriteTable {
+  /**
+   * The jvm static table holding no precomputed numbers.
+   */
+  public static final HeapWriteTable EMPTY = new HeapWriteTable(new String[0]);
+
+  /**
+   * The precomputed rome numbers, indexed by their arabic value. Entries are {@code null}
+   * if the arabic value can not be written.
+   */
+  private final String[] numbers;
+
+  HeapWriteTable(String[] numbers) {
+    this.numbers = numbers;
+  }
+
+  /**
+   * Computes the rome numbers of all arabic numbers from {@code 1} up to the given number.
+   *
+   * @param highestNumber The highest arabic number to precompute.
+   * @param writer        The writer of the rome numbers, returning {@code null} for unwritable numbers.
+   * @return The table holding the computed rome numbers.
+   */
+  static @NotNull HeapWriteTable compute(int highestNumber, @NotNull IntFunction<String> writer) {
+    final String[] numbers = new String[highestNumber + 1];
+    for (int number = 1; number <= highestNumber; number++) {
+      numbers[number] = writer.apply(number);
+    }
+    return new HeapWriteTable(numbers);
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public int getHighestNumber() {
+    return Math.max(0, this.numbers.length - 1);
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public @Nullable String get(int number) {
+    return number > 0 && number < this.numbers.length ? this.numbers[number] : null;
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public boolean appendTo(int number, @NotNull Appendable target) throws IOException {
+    final String rome = this.get(number);
+    if (rome == null) {
+      return false;
+    }
+    target.append(rome);
+    return true;
+  }
+}
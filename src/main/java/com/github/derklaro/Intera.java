@@ -25,7 +25,11 @@
 package com.github.derklaro;
 
 import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
 
+import java.io.IOException;
+import java.nio.BufferOverflowException;
+import java.nio.ByteBuffer;
 import java.util.Map;
 
 /**
@@ -47,7 +51,7 @@ public interface Intera {
    * @return the jvm static default instance of the intera parser.
    */
   static @NotNull Intera defaults() {
-    return Utils.DEFAULT_IMPL;
+    return Utils.DefaultImplHolder.DEFAULT_IMPL;
   }
 
   /**
@@ -78,6 +82,206 @@ public interface Intera {
    */
   @NotNull String write(int number) throws InteraException;
 
+  /**
+   * Writes the given {@code number} as rome number into the given {@code target}. Precomputed
+   * numbers are appended without creating an intermediate string, even if stored off heap.
+   *
+   * @param number The number to write.
+   * @param target The target to append the rome number to.
+   * @throws InteraException If any exception occurs during the write.
+   * @since 1.1.0
+   */
+  default void writeTo(int number, @NotNull Appendable target) throws InteraException {
+    Utils.notNull(target, "target");
+    final String rome = this.write(number);
+    try {
+      target.append(rome);
+    } catch (IOException exception) {
+      throw new InteraException("Unable to append rome number of " + number, exception);
+    }
+  }
+
+  /**
+   * Creates a new encoder writing rome numbers like this instance. An encoder keeps an internal
+   * buffer which is reused for every number it encodes, which means that a long living encoder
+   * does not allocate any memory when encoding. Encoders are not thread safe.
+   *
+   * @return a new encoder writing rome numbers like this instance.
+   * @since 1.1.0
+   */
+  default @NotNull Encoder newEncoder() {
+    return this::write;
+  }
+
+  /**
+   * Creates a new decoder parsing rome numbers like this instance. A decoder parses the rome
+   * number directly from the given char sequence without copying it. Decoders are not thread safe.
+   *
+   * @return a new decoder parsing rome numbers like this instance.
+   * @since 1.1.0
+   */
+  default @NotNull Decoder newDecoder() {
+    return new ParsingDecoder(this);
+  }
+
+  /**
+   * Gets the statistics of the cache in front of {@link #parse(String)} and {@link #write(int)}
+   * enabled using {@link Builder#cache(long)}.
+   *
+   * @return the statistics of the cache or {@code null} if caching is disabled.
+   * @since 1.1.0
+   */
+  default @Nullable CacheStats cacheStats() {
+    return null;
+  }
+
+  /**
+   * A reusable encoder of rome numbers, obtainable using {@link Intera#newEncoder()}.
+   *
+   * @since 1.1.0
+   */
+  @FunctionalInterface
+  interface Encoder {
+    /**
+     * Writes the given {@code number} to a rome number. The returned char sequence might be
+     * the internal buffer of this encoder, which is only valid until the next call to this encoder.
+     *
+     * @param number The number to write.
+     * @return The rome association with the given number, valid until the next call to this encoder.
+     * @throws InteraException If any exception occurs during the write.
+     */
+    @NotNull CharSequence encode(int number) throws InteraException;
+
+    /**
+     * Writes the given {@code number} as rome number into the given {@code target}.
+     *
+     * @param number The number to write.
+     * @param target The target to append the rome number to.
+     * @throws InteraException If any exception occurs during the write.
+     */
+    default void encode(int number, @NotNull Appendable target) throws InteraException {
+      Utils.notNull(target, "target");
+      final CharSequence rome = this.encode(number);
+      try {
+        target.append(rome);
+      } catch (IOException exception) {
+        throw new InteraException("Unable to append rome number of " + number, exception);
+      }
+    }
+
+    /**
+     * Writes the given {@code number} as utf-8 encoded rome number into the given buffer, starting
+     * at its current position. The position of the buffer is moved behind the written number.
+     *
+     * @param number The number to write.
+     * @param target The buffer to write the rome number to.
+     * @throws InteraException         If any exception occurs during the write.
+     * @throws BufferOverflowException If the buffer has not enough space remaining, the buffer is unchanged in that case.
+     */
+    default void encode(int number, @NotNull ByteBuffer target) throws InteraException {
+      Utils.notNull(target, "target");
+      Utils.writeUtf8(this.encode(number), target);
+    }
+  }
+
+  /**
+   * A reusable decoder of rome numbers, obtainable using {@link Intera#newDecoder()}.
+   *
+   * @since 1.1.0
+   */
+  @FunctionalInterface
+  interface Decoder {
+    /**
+     * Parses the given {@code romeNumberText} to an integer.
+     *
+     * @param romeNumberText The rome number text to parse.
+     * @return The arabic value of the rome number.
+     * @throws InteraException If any exception occurs during the parse process.
+     */
+    default int decode(@NotNull CharSequence romeNumberText) throws InteraException {
+      Utils.notNull(romeNumberText, "romeNumberText");
+      return this.decode(romeNumberText, 0, romeNumberText.length());
+    }
+
+    /**
+     * Parses the rome number in the given range of the given {@code text} to an integer.
+     *
+     * @param text  The text holding the rome number.
+     * @param start The index of the first char of the rome number, inclusive.
+     * @param end   The index of the last char of the rome number, exclusive.
+     * @return The arabic value of the rome number.
+     * @throws InteraException If any exception occurs during the parse process.
+     */
+    int decode(@NotNull CharSequence text, int start, int end) throws InteraException;
+
+    /**
+     * Parses the ascii or utf-8 encoded rome number starting at the current position of the given
+     * buffer, which ends at the limit of the buffer or at the first char which can not be part of
+     * it. Decoders of instances created by {@link Intera#builder()} stop at the first char which is
+     * not associated, other decoders at the first char which is neither a letter nor a letter number
+     * (like {@code ↁ}). Chars set using {@link Builder#ignoredChars(char...)} are skipped inside the
+     * rome number, but not consumed after its last associated char, so {@code "MCM XC "} is parsed as
+     * {@code 1990} and the position is moved to the trailing space. The rome number is validated like
+     * {@link Intera#parse(String)}, an empty rome number is parsed as {@code 0}. On success the
+     * position of the buffer is moved behind the rome number.
+     *
+     * @param buffer The buffer to read the rome number from.
+     * @return The arabic value of the rome number.
+     * @throws InteraException If the rome number is invalid, the buffer is unchanged in that case.
+     */
+    default int decode(@NotNull ByteBuffer buffer) throws InteraException {
+      Utils.notNull(buffer, "buffer");
+      return new Utf8CharReader().decode(buffer, Utf8CharReader::isNumeralChar, c -> false, this);
+    }
+  }
+
+  /**
+   * The statistics of a cache in front of an intera instance. All counts are collected
+   * since the instance was created.
+   *
+   * @since 1.1.0
+   */
+  interface CacheStats {
+    /**
+     * Gets the amount of lookups answered by the cache.
+     *
+     * @return the amount of lookups answered by the cache.
+     */
+    long getHitCount();
+
+    /**
+     * Gets the amount of lookups which were not answered by the cache.
+     *
+     * @return the amount of lookups which were not answered by the cache.
+     */
+    long getMissCount();
+
+    /**
+     * Gets the amount of cached numbers which were replaced by more frequently used numbers.
+     *
+     * @return the amount of cached numbers which were replaced.
+     */
+    long getEvictionCount();
+
+    /**
+     * Gets the maximum amount of numbers the cache can hold.
+     *
+     * @return the maximum amount of numbers the cache can hold.
+     */
+    int getCapacity();
+
+    /**
+     * Gets the ratio of lookups answered by the cache.
+     *
+     * @return the ratio of lookups answered by the cache, {@code 1} if there were no lookups.
+     */
+    default double getHitRate() {
+      final long hits = this.getHitCount();
+      final long lookups = hits + this.getMissCount();
+      return lookups == 0 ? 1 : (double) hits / lookups;
+    }
+  }
+
   /**
    * A builder for an intera instance.
    */
@@ -125,6 +329,93 @@ interface Builder {
      */
     @NotNull Builder maxSameCharsInRow(int maxChars);
 
+    /**
+     * Sets if the case of rome number chars is ignored when parsing, for example to parse {@code mcmxc}
+     * like {@code MCMXC}. Numbers are still written using the registered chars. Defaults to {@code false}.
+     *
+     * @param ignoreCase If the case of rome number chars should be ignored when parsing.
+     * @return The same instance of this class, for chaining.
+     * @since 1.1.0
+     */
+    @NotNull Builder ignoreCase(boolean ignoreCase);
+
+    /**
+     * Sets the chars which are skipped anywhere in a rome number when parsing, for example whitespace
+     * or separators to parse {@code " MCM XC "} like {@code MCMXC}. The chars must not be associated
+     * with an arabic number. Replaces all previously set chars, by default no chars are skipped.
+     *
+     * @param ignoredChars The chars to skip when parsing.
+     * @return The same instance of this class, for chaining.
+     * @since 1.1.0
+     */
+    @NotNull Builder ignoredChars(char @NotNull... ignoredChars);
+
+    /**
+     * Precomputes the rome numbers of all arabic numbers from {@code 1} up to the given
+     * {@code highestNumber} when building the instance. Writing a precomputed number is
+     * an array lookup instead of a walk over all associations. A value smaller than
+     * {@code 1} disables the precomputation, which is the default.
+     *
+     * @param highestNumber The highest arabic number to precompute.
+     * @return The same instance of this class, for chaining.
+     * @see InteraSnapshot
+     * @since 1.1.0
+     */
+    @NotNull Builder precompute(int highestNumber);
+
+    /**
+     * Sets if the numbers precomputed using {@link #precompute(int)} are stored off heap in a
+     * direct buffer instead of as strings on the heap. Off heap numbers add nearly nothing to
+     * the heap size, even for millions of numbers, but a string is created for each call to
+     * {@link Intera#write(int)}. Use {@link Intera#writeTo(int, Appendable)} to avoid that.
+     * Off heap storage supports at most 256 associations. Defaults to {@code false}.
+     *
+     * @param offHeap If the precomputed numbers should be stored off heap.
+     * @return The same instance of this class, for chaining.
+     * @see InteraSnapshot#map(java.nio.file.Path)
+     * @since 1.1.0
+     */
+    @NotNull Builder precomputeOffHeap(boolean offHeap);
+
+    /**
+     * Sets if the numbers precomputed using {@link #precompute(int)} are the shortest well-formed
+     * rome numbers, rather than the numbers written by the greedy walk over all associations. A rome
+     * number is a sequence of tokens, each being a single char or an allowed subtraction of two
+     * chars. It is well-formed if no token is larger than the token before it, every token after a
+     * subtraction is smaller than the subtracted char, it contains at most the maximum same chars in
+     * a row and it is parsed back to the same number. Shorter numbers which are not well-formed are
+     * never written, for example {@code IXIX} is parsed to {@code 18} but {@code XVIII} is written.
+     * For the default associations the shortest well-formed numbers are the usual rome numbers.
+     *
+     * <p>This is useful for custom associations for which the greedy walk writes long or even
+     * unparsable numbers, or fails to write a number at all. Precomputed numbers without a
+     * well-formed rome number can not be written, numbers which are not precomputed are still
+     * written greedily. Computing the shortest numbers needs time and memory proportional to the
+     * highest precomputed number multiplied by the amount of tokens and the maximum same chars in a
+     * row. Defaults to {@code false}.
+     *
+     * @param shortest If the shortest rome numbers should be precomputed.
+     * @return The same instance of this class, for chaining.
+     * @since 1.1.0
+     */
+    @NotNull Builder precomputeShortest(boolean shortest);
+
+    /**
+     * Enables a bounded cache in front of {@link Intera#parse(String)} and {@link Intera#write(int)}
+     * for numbers which are not precomputed, using roughly the given amount of memory. Only numbers
+     * which are used frequently are kept in the cache and cache hits never lock. Use this if the
+     * range of used numbers is too large to precompute, but a few numbers are used most of the time.
+     * Each cached number is charged by the length of its rome number, so the cache holds fewer long
+     * rome numbers than short ones. A value smaller than {@code 1} disables the cache, which is the
+     * default.
+     *
+     * @param memoryBudget The approximate amount of bytes the cache may use.
+     * @return The same instance of this class, for chaining.
+     * @see Intera#cacheStats()
+     * @since 1.1.0
+     */
+    @NotNull Builder cache(long memoryBudget);
+
     /**
      * Builds an intera instance with the provided options.
      *
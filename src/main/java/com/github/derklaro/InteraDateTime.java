@@ -0,0 +1,133 @@
+/*
+ * This file is part of intera, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) Pasqual Koschmieder <https://github.com/derklaro>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.github.derklaro;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.time.format.DateTimeFormatterBuilder;
+import java.time.temporal.TemporalField;
+import java.time.temporal.ValueRange;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Integrates intera into {@link java.time.format.DateTimeFormatter}s, for example to format and
+ * parse dates like {@code XVII.X.MMXXVI}:
+ *
+ * <pre>{@code
+ * DateTimeFormatterBuilder builder = new DateTimeFormatterBuilder();
+ * InteraDateTime.appendRome(builder, Intera.defaults(), ChronoField.DAY_OF_MONTH).appendLiteral('.');
+ * InteraDateTime.appendRome(builder, Intera.defaults(), ChronoField.MONTH_OF_YEAR).appendLiteral('.');
+ * InteraDateTime.appendRome(builder, Intera.defaults(), ChronoField.YEAR);
+ * DateTimeFormatter formatter = builder.toFormatter();
+ * }</pre>
+ *
+ * <p>The rome numbers of all values in the range of a field are written once when appending the
+ * field and are stored in the formatter, which means that formatting and parsing never calls the
+ * intera instance again. Values outside the range are formatted as arabic numbers. Parsing
+ * compares the text with the rome numbers of the range, longest first, so passing the expected
+ * range of large fields like years makes parsing faster.
+ *
+ * @author Pasqual Koschmieder
+ * @since 1.1.0
+ */
+public final class InteraDateTime {
+  /**
+   * The highest value appended by default, for fields with a larger range like years.
+   */
+  private static final long DEFAULT_HIGHEST = Utils.DEFAULT_PRECOMPUTED;
+
+  private InteraDateTime() {
+    throw new UnsupportedOperationException();
+  }
+
+  /**
+   * Appends the given field to the given builder, formatted and parsed as rome number. All values
+   * from {@code 1} up to the maximum of the field, but at most {@code 3999}, are written as rome
+   * numbers. This covers all days, months and years of the {@code ISO} calendar up to {@code 3999}.
+   *
+   * @param builder The builder to append the field to.
+   * @param intera  The intera instance to write the rome numbers with.
+   * @param field   The field to append.
+   * @return The given builder, for chaining.
+   * @throws InteraException If the field has no value in the range from {@code 1} to {@code 3999}.
+   */
+  public static @NotNull DateTimeFormatterBuilder appendRome(
+    @NotNull DateTimeFormatterBuilder builder,
+    @NotNull Intera intera,
+    @NotNull TemporalField field
+  ) throws InteraException {
+    Utils.notNull(field, "field");
+    final ValueRange range = field.range();
+    return appendRome(builder, intera, field, Math.max(1, range.getMinimum()), Math.min(DEFAULT_HIGHEST, range.getMaximum()));
+  }
+
+  /**
+   * Appends the given field to the given builder, formatted and parsed as rome number. All values
+   * in the given range are written as rome numbers.
+   *
+   * @param builder The builder to append the field to.
+   * @param intera  The intera instance to write the rome numbers with.
+   * @param field   The field to append.
+   * @param lowest  The lowest value to write as rome number, at least {@code 1}.
+   * @param highest The highest value to write as rome number, inclusive.
+   * @return The given builder, for chaining.
+   * @throws InteraException If the range is empty or contains values which can not be written as rome numbers.
+   */
+  public static @NotNull DateTimeFormatterBuilder appendRome(
+    @NotNull DateTimeFormatterBuilder builder,
+    @NotNull Intera intera,
+    @NotNull TemporalField field,
+    long lowest,
+    long highest
+  ) throws InteraException {
+    Utils.notNull(builder, "builder");
+    Utils.notNull(field, "field");
+    return builder.appendText(field, romeTexts(intera, lowest, highest));
+  }
+
+  /**
+   * Writes the rome numbers of all values in the given range, in the format expected by
+   * {@link DateTimeFormatterBuilder#appendText(TemporalField, Map)}.
+   *
+   * @param intera  The intera instance to write the rome numbers with.
+   * @param lowest  The lowest value to write as rome number, at least {@code 1}.
+   * @param highest The highest value to write as rome number, inclusive.
+   * @return The rome numbers of all values in the given range, by their value.
+   * @throws InteraException If the range is empty or contains values which can not be written as rome numbers.
+   */
+  public static @NotNull Map<Long, String> romeTexts(@NotNull Intera intera, long lowest, long highest) throws InteraException {
+    Utils.notNull(intera, "intera");
+    if (lowest < 1 || highest > Integer.MAX_VALUE || lowest > highest) {
+      throw new InteraException("Illegal range " + lowest + " to " + highest + " of rome numbers");
+    }
+
+    final Map<Long, String> texts = new LinkedHashMap<>();
+    for (long value = lowest; value <= highest; value++) {
+      texts.put(value, intera.write((int) value));
+    }
+    return texts;
+  }
+}
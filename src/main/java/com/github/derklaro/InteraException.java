@@ -39,4 +39,14 @@ public class InteraException extends RuntimeException {
   public InteraException(String message) {
     super(message);
   }
+
+  /**
+   * Creates a new instance of an intera exception.
+   *
+   * @param message the detail message why the exception occurred.
+   * @param cause   the cause of the exception.
+   */
+  public InteraException(String message, Throwable cause) {
+    super(message, cause);
+  }
 }
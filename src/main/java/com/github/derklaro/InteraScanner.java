@@ -0,0 +1,369 @@
+/*
+ * This file is part of intera, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) Pasqual Koschmieder <https://github.com/derklaro>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.github.derklaro;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.io.Writer;
+import java.nio.CharBuffer;
+import java.util.Arrays;
+
+/**
+ * Finds and converts numbers inside free text in a single pass. A number is only converted if
+ * it is a whole word, meaning that the chars around it are neither letters, digits nor chars
+ * associated with an arabic number (like {@code ↁ}, which is not a letter). Words which are not
+ * valid numbers are copied unchanged. All text is streamed into the target without building
+ * intermediate strings, writers receive the chars directly from char arrays.
+ *
+ * <p>Note that common words consisting only of associated chars (for example {@code I} or
+ * {@code MIX} using the default mappings) are valid rome numbers and get converted as well.
+ * Instances of this class are thread safe if the underlying intera instance is.
+ *
+ * @author Pasqual Koschmieder
+ * @since 1.1.0
+ */
+public final class InteraScanner {
+  /**
+   * The amount of chars read from a reader at once.
+   */
+  private static final int READ_BUFFER_SIZE = 8192;
+
+  private final Intera intera;
+  /**
+   * If rome numbers are converted to arabic numbers or the other way round.
+   */
+  private final boolean romeToArabic;
+
+  private InteraScanner(@NotNull Intera intera, boolean romeToArabic) {
+    this.intera = intera;
+    this.romeToArabic = romeToArabic;
+  }
+
+  /**
+   * Creates a scanner replacing all valid rome numbers with their arabic value. The rome numbers
+   * are validated using the same rules as {@link Intera#parse(String)}.
+   *
+   * @param intera The intera instance to parse the rome numbers with, must be created by {@link Intera#builder()}.
+   * @return A scanner replacing rome numbers with arabic numbers.
+   * @throws InteraException If the intera instance was not created by {@link Intera#builder()}.
+   */
+  public static @NotNull InteraScanner romeToArabic(@NotNull Intera intera) throws InteraException {
+    Utils.notNull(intera, "intera");
+    if (!(intera instanceof DefaultIntera)) {
+      throw new InteraException("Only instances created by Intera.builder() can scan for rome numbers");
+    }
+    return new InteraScanner(intera, true);
+  }
+
+  /**
+   * Creates a scanner replacing all positive arabic numbers with their rome number. Numbers which
+   * can not be written by the given instance are left unchanged.
+   *
+   * @param intera The intera instance to write the rome numbers with.
+   * @return A scanner replacing arabic numbers with rome numbers.
+   */
+  public static @NotNull InteraScanner arabicToRome(@NotNull Intera intera) {
+    Utils.notNull(intera, "intera");
+    return new InteraScanner(intera, false);
+  }
+
+  /**
+   * Converts all numbers in the given text and appends the result to the given target.
+   *
+   * @param text   The text to convert the numbers in.
+   * @param target The target to append the converted text to.
+   * @throws InteraException If the target throws an exception.
+   */
+  public void scan(@NotNull CharSequence text, @NotNull Appendable target) throws InteraException {
+    Utils.notNull(text, "text");
+    Utils.notNull(target, "target");
+    try {
+      this.scan(text, 0, text.length(), true, new ScanTarget(target), this.intera.newEncoder());
+    } catch (IOException exception) {
+      throw new InteraException("Unable to append scanned text", exception);
+    }
+  }
+
+  /**
+   * Converts all numbers read from the given reader until its end and appends the result to the
+   * given target. The reader is not closed by this method.
+   *
+   * @param source The reader to read the text to convert from.
+   * @param target The target to append the converted text to.
+   * @throws InteraException If the reader or the target throw an exception.
+   */
+  public void scan(@NotNull Reader source, @NotNull Appendable target) throws InteraException {
+    Utils.notNull(source, "source");
+    Utils.notNull(target, "target");
+    try {
+      final ScanTarget scanTarget = new ScanTarget(target);
+      final Intera.Encoder encoder = this.intera.newEncoder();
+      char[] buffer = new char[READ_BUFFER_SIZE];
+      CharBuffer bufferView = CharBuffer.wrap(buffer);
+      int length = 0;
+      while (true) {
+        if (length == buffer.length) {
+          // a single word fills the whole buffer
+          buffer = Arrays.copyOf(buffer, length << 1);
+          bufferView = CharBuffer.wrap(buffer);
+        }
+
+        final int read = source.read(buffer, length, buffer.length - length);
+        if (read == -1) {
+          this.scan(bufferView, 0, length, true, scanTarget, encoder);
+          return;
+        }
+
+        length += read;
+        // keep the last word which might continue in the next chunk
+        final int processed = this.scan(bufferView, 0, length, false, scanTarget, encoder);
+        System.arraycopy(buffer, processed, buffer, 0, length - processed);
+        length -= processed;
+      }
+    } catch (IOException exception) {
+      throw new InteraException("Unable to scan text", exception);
+    }
+  }
+
+  /**
+   * Converts all numbers in the given range of the given text and appends the result to the given target.
+   *
+   * @param text       The text to convert the numbers in.
+   * @param start      The index of the first char to convert, inclusive.
+   * @param end        The index of the last char to convert, exclusive.
+   * @param endOfInput If the range ends the input, otherwise a word at the end of the range is not converted.
+   * @param target     The target to append the converted text to.
+   * @param encoder    The encoder to write rome numbers with.
+   * @return The index of the first char which was not appended to the target.
+   * @throws IOException If the target throws an exception.
+   */
+  private int scan(
+    @NotNull CharSequence text,
+    int start,
+    int end,
+    boolean endOfInput,
+    @NotNull ScanTarget target,
+    @NotNull Intera.Encoder encoder
+  ) throws IOException {
+    int appended = start;
+    int index = start;
+    while (index < end) {
+      if (!this.isWordChar(text.charAt(index))) {
+        index++;
+        continue;
+      }
+
+      final int wordStart = index;
+      while (index < end && this.isWordChar(text.charAt(index))) {
+        index++;
+      }
+      if (index == end && !endOfInput) {
+        target.append(text, appended, wordStart);
+        return wordStart;
+      }
+
+      if (this.romeToArabic) {
+        final long value = ((DefaultIntera) this.intera).tryDecode(text, wordStart, index);
+        if (value != DefaultIntera.INVALID) {
+          target.append(text, appended, wordStart);
+          target.appendNumber((int) value);
+          appended = index;
+        }
+      } else {
+        final int number = parseArabic(text, wordStart, index);
+        if (number > 0) {
+          target.append(text, appended, wordStart);
+          appended = target.appendRome(number, encoder) ? index : wordStart;
+        }
+      }
+    }
+
+    target.append(text, appended, end);
+    return end;
+  }
+
+  /**
+   * Checks if the given char is part of a word, which is the case for letters, digits and chars
+   * associated with an arabic number by the intera instance of this scanner.
+   *
+   * @param c The char to check.
+   * @return If the given char is part of a word.
+   */
+  private boolean isWordChar(char c) {
+    return Character.isLetterOrDigit(c)
+      || (this.intera instanceof DefaultIntera && ((DefaultIntera) this.intera).isSymbol(c));
+  }
+
+  /**
+   * Parses the arabic number in the given range of the given text.
+   *
+   * @param text  The text holding the arabic number.
+   * @param start The index of the first char of the arabic number, inclusive.
+   * @param end   The index of the last char of the arabic number, exclusive.
+   * @return The arabic number or {@code -1} if the text is not an arabic number fitting into an int.
+   */
+  private static int parseArabic(@NotNull CharSequence text, int start, int end) {
+    long number = 0;
+    for (int i = start; i < end; i++) {
+      final char c = text.charAt(i);
+      if (c < '0' || c > '9') {
+        return -1;
+      }
+      number = number * 10 + (c - '0');
+      if (number > Integer.MAX_VALUE) {
+        return -1;
+      }
+    }
+    return (int) number;
+  }
+
+  /**
+   * The target of a scan. Ranges of text and converted numbers are written into writers using
+   * their char array methods, as {@link Writer#append(CharSequence, int, int)} creates a string
+   * for every appended range.
+   */
+  private static final class ScanTarget {
+
+    private final Appendable target;
+    /**
+     * The target if it is a writer, {@code null} otherwise.
+     */
+    private final Writer writer;
+    /**
+     * A reused buffer for digits of arabic numbers and copies of chars written into the writer.
+     */
+    private char[] chars = new char[16];
+
+    private ScanTarget(@NotNull Appendable target) {
+      this.target = target;
+      this.writer = target instanceof Writer ? (Writer) target : null;
+    }
+
+    /**
+     * Appends the given range of the given text to the target.
+     *
+     * @param text  The text to append a range of.
+     * @param start The index of the first char to append, inclusive.
+     * @param end   The index of the last char to append, exclusive.
+     * @throws IOException If the target throws an exception.
+     */
+    private void append(@NotNull CharSequence text, int start, int end) throws IOException {
+      if (start == end) {
+        return;
+      }
+      if (this.writer == null) {
+        this.target.append(text, start, end);
+        return;
+      }
+
+      if (text instanceof CharBuffer && ((CharBuffer) text).hasArray()) {
+        final CharBuffer buffer = (CharBuffer) text;
+        this.writer.write(buffer.array(), buffer.arrayOffset() + buffer.position() + start, end - start);
+      } else if (text instanceof String) {
+        this.writer.write((String) text, start, end - start);
+      } else {
+        final char[] chars = this.chars(end - start);
+        if (text instanceof StringBuilder) {
+          ((StringBuilder) text).getChars(start, end, chars, 0);
+        } else {
+          for (int i = start; i < end; i++) {
+            chars[i - start] = text.charAt(i);
+          }
+        }
+        this.writer.write(chars, 0, end - start);
+      }
+    }
+
+    /**
+     * Appends the rome number of the given arabic number to the target, without creating a
+     * string if the encoder reuses its buffer.
+     *
+     * @param number  The arabic number to append the rome number of.
+     * @param encoder The encoder to write the rome number with.
+     * @return If the rome number was appended, {@code false} if the number can not be written.
+     * @throws IOException If the target throws an exception.
+     */
+    private boolean appendRome(int number, @NotNull Intera.Encoder encoder) throws IOException {
+      try {
+        if (this.writer == null) {
+          encoder.encode(number, this.target);
+        } else {
+          final CharSequence rome = encoder.encode(number);
+          this.append(rome, 0, rome.length());
+        }
+        return true;
+      } catch (InteraException exception) {
+        if (exception.getCause() instanceof IOException) {
+          throw (IOException) exception.getCause();
+        }
+        // not writeable, nothing was appended as the number is encoded before appending it
+        return false;
+      }
+    }
+
+    /**
+     * Appends the decimal representation of the given number to the target.
+     *
+     * @param number The number to append.
+     * @throws IOException If the target throws an exception.
+     */
+    private void appendNumber(int number) throws IOException {
+      // room for all digits of an int, including the sign
+      final char[] digits = this.chars(11);
+      long remaining = Math.abs((long) number);
+      int index = 11;
+      do {
+        digits[--index] = (char) ('0' + remaining % 10);
+        remaining /= 10;
+      } while (remaining > 0);
+      if (number < 0) {
+        digits[--index] = '-';
+      }
+
+      if (this.writer == null) {
+        for (int i = index; i < 11; i++) {
+          this.target.append(digits[i]);
+        }
+      } else {
+        this.writer.write(digits, index, 11 - index);
+      }
+    }
+
+    /**
+     * Gets the reused char buffer of this target, grown to hold at least the given amount of chars.
+     *
+     * @param length The amount of chars the buffer must be able to hold.
+     * @return The reused char buffer of this target.
+     */
+    private char[] chars(int length) {
+      if (this.chars.length < length) {
+        this.chars = new char[Math.max(length, this.chars.length << 1)];
+      }
+      return this.chars;
+    }
+  }
+}
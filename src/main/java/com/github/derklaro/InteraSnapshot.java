@@ -0,0 +1,403 @@
+/*
+ * This file is part of intera, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) Pasqual Koschmieder <https://github.com/derklaro>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.github.derklaro;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.Buffer;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Reads and writes compiled intera instances in a compact binary format. A snapshot contains
+ * the associations, the parse options, the subtraction rules evaluated for all associated values
+ * and all numbers precomputed using {@link Intera.Builder#precompute(int)}. Loading a snapshot is
+ * much cheaper than precomputing the numbers again, which makes it suitable to ship snapshots as
+ * resources of short living applications.
+ *
+ * <p>Only instances created by {@link Intera#builder()} or loaded from a snapshot can be written
+ * into a snapshot. As the subtraction validator is evaluated once while writing the snapshot, it
+ * must not depend on anything else than the numbers it gets passed.
+ *
+ * @author Pasqual Koschmieder
+ * @since 1.1.0
+ */
+public final class InteraSnapshot {
+  /**
+   * The magic number every snapshot starts with ({@code INTR} in ascii).
+   */
+  private static final int MAGIC = 0x494E5452;
+  /**
+   * The current version of the snapshot format.
+   */
+  private static final byte VERSION = 1;
+  /**
+   * The maximum amount of associations a snapshot can store, as each rome char in the
+   * precomputed numbers is stored as the unsigned byte index of its association.
+   */
+  private static final int MAX_ASSOCIATIONS = BufferWriteTable.MAX_ASSOCIATIONS;
+
+  private InteraSnapshot() {
+    throw new UnsupportedOperationException();
+  }
+
+  /**
+   * Writes a snapshot of the given {@code intera} instance into the given stream. The stream
+   * is not closed by this method.
+   *
+   * @param intera The instance to write the snapshot of.
+   * @param target The stream to write the snapshot to.
+   * @throws InteraException If the instance can not be written into a snapshot or an I/O error occurs.
+   */
+  public static void write(@NotNull Intera intera, @NotNull OutputStream target) throws InteraException {
+    Utils.notNull(intera, "intera");
+    Utils.notNull(target, "target");
+    if (!(intera instanceof DefaultIntera)) {
+      throw new InteraException("Only instances created by Intera.builder() can be written into a snapshot");
+    }
+
+    final DefaultIntera defaultIntera = (DefaultIntera) intera;
+    final char[] symbols = defaultIntera.getSymbols();
+    final int[] values = defaultIntera.getValues();
+    if (symbols.length > MAX_ASSOCIATIONS) {
+      throw new InteraException("A snapshot can hold at most " + MAX_ASSOCIATIONS + " associations");
+    }
+
+    try {
+      final DataOutputStream out = new DataOutputStream(target);
+      out.writeInt(MAGIC);
+      out.writeByte(VERSION);
+      out.writeInt(defaultIntera.getMaxCharsInRow());
+
+      // parse options
+      final char[] ignoredChars = defaultIntera.getIgnoredChars();
+      out.writeBoolean(defaultIntera.isIgnoreCase());
+      out.writeInt(ignoredChars.length);
+      for (char ignoredChar : ignoredChars) {
+        out.writeChar(ignoredChar);
+      }
+
+      // associations, in the iteration order of the instance which the write algorithm depends on
+      final Map<Character, Integer> symbolIndexes = new HashMap<>();
+      out.writeInt(symbols.length);
+      for (int i = 0; i < symbols.length; i++) {
+        symbolIndexes.put(symbols[i], i);
+        out.writeChar(symbols[i]);
+        out.writeInt(values[i]);
+      }
+
+      // subtraction rules, as bit matrix over the distinct associated values
+      final boolean[] illegal = MatrixSubtractionValidator
+        .evaluate(defaultIntera.getSubtractionValidator(), distinctValues(values))
+        .getIllegal();
+      final byte[] matrix = new byte[(illegal.length + 7) / 8];
+      for (int i = 0; i < illegal.length; i++) {
+        if (illegal[i]) {
+          matrix[i >> 3] |= 1 << (i & 7);
+        }
+      }
+      out.write(matrix);
+
+      // precomputed numbers, as offset index followed by the association indexes of all chars
+      final WriteTable writeTable = defaultIntera.getWriteTable();
+      final int highestPrecomputed = writeTable.getHighestNumber();
+      out.writeInt(highestPrecomputed);
+      if (highestPrecomputed > 0) {
+        int offset = 0;
+        out.writeInt(offset);
+        for (int number = 1; number <= highestPrecomputed; number++) {
+          final String rome = writeTable.get(number);
+          offset += rome == null ? 0 : rome.length();
+          out.writeInt(offset);
+        }
+        for (int number = 1; number <= highestPrecomputed; number++) {
+          final String rome = writeTable.get(number);
+          if (rome != null) {
+            for (int i = 0; i < rome.length(); i++) {
+              out.writeByte(symbolIndexes.get(rome.charAt(i)));
+            }
+          }
+        }
+      }
+      out.flush();
+    } catch (IOException exception) {
+      throw new InteraException("Unable to write snapshot", exception);
+    }
+  }
+
+  /**
+   * Writes a snapshot of the given {@code intera} instance into a new byte array.
+   *
+   * @param intera The instance to write the snapshot of.
+   * @return The bytes of the snapshot.
+   * @throws InteraException If the instance can not be written into a snapshot.
+   * @see #write(Intera, OutputStream)
+   */
+  public static byte @NotNull [] toByteArray(@NotNull Intera intera) throws InteraException {
+    final ByteArrayOutputStream out = new ByteArrayOutputStream();
+    write(intera, out);
+    return out.toByteArray();
+  }
+
+  /**
+   * Reads a snapshot from the given buffer, starting at its current position. The byte order of
+   * the buffer is ignored, snapshots are always big endian. The position of the buffer is moved
+   * behind the snapshot.
+   *
+   * @param buffer The buffer to read the snapshot from.
+   * @return The intera instance stored in the snapshot.
+   * @throws InteraException If the buffer does not contain a valid snapshot.
+   */
+  public static @NotNull Intera read(@NotNull ByteBuffer buffer) throws InteraException {
+    Utils.notNull(buffer, "buffer");
+    return read(buffer, true);
+  }
+
+  /**
+   * Reads a snapshot from the given buffer, starting at its current position. The position of
+   * the buffer is moved behind the snapshot.
+   *
+   * @param source    The buffer to read the snapshot from, in any byte order.
+   * @param copyTable If the precomputed numbers should be copied onto the heap rather than served from the buffer.
+   * @return The intera instance stored in the snapshot.
+   * @throws InteraException If the buffer does not contain a valid snapshot.
+   */
+  private static @NotNull Intera read(@NotNull ByteBuffer source, boolean copyTable) throws InteraException {
+    // read from a big endian view, the byte order of the given buffer belongs to the caller
+    final ByteBuffer buffer = source.duplicate().order(ByteOrder.BIG_ENDIAN);
+    try {
+      if (buffer.getInt() != MAGIC) {
+        throw new InteraException("Buffer does not contain an intera snapshot");
+      }
+      final byte version = buffer.get();
+      if (version != VERSION) {
+        throw new InteraException("Unsupported snapshot version " + version);
+      }
+      final int maxCharsInRow = buffer.getInt();
+
+      // parse options
+      final boolean ignoreCase = buffer.get() != 0;
+      final int ignoredCount = buffer.getInt();
+      if (ignoredCount < 0 || ignoredCount > buffer.remaining() / Character.BYTES) {
+        throw new InteraException("Illegal ignored char count " + ignoredCount + " in snapshot");
+      }
+      final char[] ignoredChars = new char[ignoredCount];
+      for (int i = 0; i < ignoredChars.length; i++) {
+        ignoredChars[i] = buffer.getChar();
+      }
+
+      // associations
+      final int associationCount = buffer.getInt();
+      if (associationCount < 1 || associationCount > MAX_ASSOCIATIONS) {
+        throw new InteraException("Illegal association count " + associationCount + " in snapshot");
+      }
+      final char[] symbols = new char[associationCount];
+      final int[] values = new int[associationCount];
+      final Map<Character, Integer> associations = new LinkedHashMap<>();
+      for (int i = 0; i < associationCount; i++) {
+        symbols[i] = buffer.getChar();
+        values[i] = buffer.getInt();
+        associations.put(symbols[i], values[i]);
+      }
+
+      // subtraction rules
+      final int[] distinctValues = distinctValues(values);
+      final boolean[] illegal = new boolean[distinctValues.length * distinctValues.length];
+      final byte[] matrix = new byte[(illegal.length + 7) / 8];
+      buffer.get(matrix);
+      for (int i = 0; i < illegal.length; i++) {
+        illegal[i] = (matrix[i >> 3] & (1 << (i & 7))) != 0;
+      }
+
+      // precomputed numbers
+      final int highestPrecomputed = buffer.getInt();
+      if (highestPrecomputed < 0) {
+        throw new InteraException("Illegal precomputed number count " + highestPrecomputed + " in snapshot");
+      }
+      final WriteTable writeTable;
+      if (highestPrecomputed == 0) {
+        writeTable = HeapWriteTable.EMPTY;
+      } else if (copyTable) {
+        final int[] offsets = new int[highestPrecomputed + 1];
+        for (int i = 0; i < offsets.length; i++) {
+          offsets[i] = buffer.getInt();
+        }
+        final char[] chars = new char[offsets[highestPrecomputed]];
+        for (int i = 0; i < chars.length; i++) {
+          chars[i] = symbols[buffer.get() & 0xFF];
+        }
+        final String[] numbers = new String[highestPrecomputed + 1];
+        for (int number = 1; number <= highestPrecomputed; number++) {
+          final int length = offsets[number] - offsets[number - 1];
+          if (length > 0) {
+            numbers[number] = new String(chars, offsets[number - 1], length);
+          }
+        }
+        writeTable = new HeapWriteTable(numbers);
+      } else {
+        final ByteBuffer offsets = slice(buffer, (highestPrecomputed + 1) * Integer.BYTES);
+        final ByteBuffer chars = slice(buffer, offsets.getInt(highestPrecomputed * Integer.BYTES));
+        writeTable = new BufferWriteTable(symbols, offsets, chars);
+      }
+
+      final SubtractionValidator validator = new MatrixSubtractionValidator(distinctValues, illegal);
+      final Intera intera = new DefaultIntera(maxCharsInRow, validator, associations, ignoreCase, ignoredChars, writeTable);
+      // cast to buffer to stay compatible with java 8 which has no covariant overrides
+      ((Buffer) source).position(buffer.position());
+      return intera;
+    } catch (BufferUnderflowException | IndexOutOfBoundsException | NegativeArraySizeException exception) {
+      throw new InteraException("Truncated or corrupted snapshot", exception);
+    }
+  }
+
+  /**
+   * Reads a snapshot from the given stream until its end. The stream is not closed by this method.
+   *
+   * @param source The stream to read the snapshot from.
+   * @return The intera instance stored in the snapshot.
+   * @throws InteraException If the stream does not contain a valid snapshot or an I/O error occurs.
+   */
+  public static @NotNull Intera read(@NotNull InputStream source) throws InteraException {
+    Utils.notNull(source, "source");
+    try {
+      final ByteArrayOutputStream out = new ByteArrayOutputStream();
+      final byte[] buffer = new byte[8192];
+      int read;
+      while ((read = source.read(buffer)) != -1) {
+        out.write(buffer, 0, read);
+      }
+      return read(ByteBuffer.wrap(out.toByteArray()));
+    } catch (IOException exception) {
+      throw new InteraException("Unable to read snapshot", exception);
+    }
+  }
+
+  /**
+   * Memory-maps the snapshot file at the given path. The precomputed numbers of the snapshot
+   * are served directly from the mapped file instead of being copied onto the heap, which means
+   * they add nearly nothing to the heap size and are shared between all processes mapping the
+   * same file through the page cache. The file must not be modified while it is mapped.
+   *
+   * @param file The path of the snapshot file to map.
+   * @return The intera instance stored in the snapshot.
+   * @throws InteraException If the file does not contain a valid snapshot or an I/O error occurs.
+   * @see Intera.Builder#precomputeOffHeap(boolean)
+   */
+  public static @NotNull Intera map(@NotNull Path file) throws InteraException {
+    Utils.notNull(file, "file");
+    try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+      return read(channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size()), false);
+    } catch (IOException exception) {
+      throw new InteraException("Unable to map snapshot file " + file, exception);
+    }
+  }
+
+  /**
+   * Reads a snapshot from the classpath resource with the given name, using the class loader
+   * which loaded intera.
+   *
+   * @param name The name of the resource, for example {@code com/example/numbers.intera}.
+   * @return The intera instance stored in the snapshot.
+   * @throws InteraException If the resource does not exist or does not contain a valid snapshot.
+   */
+  public static @NotNull Intera readResource(@NotNull String name) throws InteraException {
+    final ClassLoader loader = InteraSnapshot.class.getClassLoader();
+    return readResource(loader == null ? ClassLoader.getSystemClassLoader() : loader, name);
+  }
+
+  /**
+   * Reads a snapshot from the classpath resource with the given name.
+   *
+   * @param loader The class loader to load the resource from.
+   * @param name   The name of the resource, for example {@code com/example/numbers.intera}.
+   * @return The intera instance stored in the snapshot.
+   * @throws InteraException If the resource does not exist or does not contain a valid snapshot.
+   */
+  public static @NotNull Intera readResource(@NotNull ClassLoader loader, @NotNull String name) throws InteraException {
+    Utils.notNull(loader, "loader");
+    Utils.notNull(name, "name");
+    try (InputStream source = loader.getResourceAsStream(name)) {
+      if (source == null) {
+        throw new InteraException("There is no snapshot resource " + name);
+      }
+      return read(source);
+    } catch (IOException exception) {
+      throw new InteraException("Unable to read snapshot resource " + name, exception);
+    }
+  }
+
+  /**
+   * Slices the given amount of bytes from the given buffer, starting at its current position.
+   * The position of the buffer is moved behind the sliced bytes.
+   *
+   * @param buffer The buffer to slice.
+   * @param length The amount of bytes to slice.
+   * @return The sliced bytes, sharing the content of the given buffer.
+   * @throws BufferUnderflowException If the buffer has not enough bytes remaining.
+   */
+  private static @NotNull ByteBuffer slice(@NotNull ByteBuffer buffer, int length) {
+    if (length < 0 || buffer.remaining() < length) {
+      throw new BufferUnderflowException();
+    }
+
+    // cast to buffer to stay compatible with java 8 which has no covariant overrides
+    final ByteBuffer slice = buffer.slice();
+    ((Buffer) slice).limit(length);
+    ((Buffer) buffer).position(buffer.position() + length);
+    return slice.slice();
+  }
+
+  /**
+   * Gets the sorted, distinct values of the given array.
+   *
+   * @param values The values to get the distinct values of.
+   * @return The sorted, distinct values of the given array.
+   */
+  private static int[] distinctValues(int[] values) {
+    final int[] sorted = values.clone();
+    Arrays.sort(sorted);
+
+    int distinct = 0;
+    for (int i = 0; i < sorted.length; i++) {
+      if (i == 0 || sorted[i] != sorted[i - 1]) {
+        sorted[distinct++] = sorted[i];
+      }
+    }
+    return Arrays.copyOf(sorted, distinct);
+  }
+}
@@ -0,0 +1,98 @@
+/*
+ * This file is part of intera, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) Pasqual Koschmieder <https://github.com/derklaro>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.github.derklaro;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.util.Arrays;
+
+/**
+ * A subtraction validator which answers from a precomputed matrix of all subtractions between
+ * a fixed set of arabic values. Subtractions involving other values are always illegal. Used to
+ * store the rules of another validator in an {@link InteraSnapshot}.
+ *
+ * @author Pasqual Koschmieder
+ * @since 1.1.0
+ */
+final class MatrixSubtractionValidator implements SubtractionValidator {
+  /**
+   * The sorted, distinct arabic values this matrix knows about.
+   */
+  private final int[] values;
+  /**
+   * The illegal subtractions, row major indexed by the number and then the number to subtract.
+   */
+  private final boolean[] illegal;
+
+  MatrixSubtractionValidator(int[] values, boolean[] illegal) {
+    this.values = values;
+    this.illegal = illegal;
+  }
+
+  /**
+   * Evaluates the given {@code validator} for all subtractions between the given values.
+   *
+   * @param validator The validator to evaluate.
+   * @param values    The sorted, distinct arabic values to evaluate the validator for.
+   * @return The matrix validator answering the same as the given validator for the given values.
+   */
+  static @NotNull MatrixSubtractionValidator evaluate(@NotNull SubtractionValidator validator, int[] values) {
+    final boolean[] illegal = new boolean[values.length * values.length];
+    for (int i = 0; i < values.length; i++) {
+      for (int j = 0; j < values.length; j++) {
+        illegal[i * values.length + j] = validator.isIllegalSubtraction(values[i], values[j]);
+      }
+    }
+    return new MatrixSubtractionValidator(values, illegal);
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public boolean isIllegalSubtraction(int number, int numberToSubtract) {
+    final int row = Arrays.binarySearch(this.values, number);
+    final int column = Arrays.binarySearch(this.values, numberToSubtract);
+    return row < 0 || column < 0 || this.illegal[row * this.values.length + column];
+  }
+
+  /**
+   * Gets the sorted, distinct arabic values this matrix knows about.
+   *
+   * @return the sorted, distinct arabic values this matrix knows about.
+   */
+  int[] getValues() {
+    return this.values;
+  }
+
+  /**
+   * Gets the illegal subtractions, row major indexed by the number and then the number to subtract.
+   *
+   * @return the illegal subtractions of this matrix.
+   */
+  boolean[] getIllegal() {
+    return this.illegal;
+  }
+}
@@ -0,0 +1,377 @@
+/*
+ * This file is part of intera, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) Pasqual Koschmieder <https://github.com/derklaro>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.github.derklaro;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * A bounded cache of parsed and written numbers. Each cache is a fixed size table in which each
+ * number can only be stored in one of the {@link #WAYS} slots of its bucket. A new number only
+ * replaces the least frequently used number of its bucket if it was accessed more often recently,
+ * tracked by a {@link FrequencySketch} (the TinyLFU admission policy). This keeps hot numbers
+ * cached even if many cold numbers are looked up. Lookups never lock, the entries are immutable
+ * and published through an atomic array.
+ *
+ * <p>The memory budget covers the slots and sketches of both caches as well as the estimated size
+ * of every cached entry, which grows with the length of its rome number. A number is not cached if
+ * its entry would exceed the remaining budget, so long rome numbers use up the budget faster.
+ *
+ * @author Pasqual Koschmieder
+ * @since 1.1.0
+ */
+final class NumberCache implements Intera.CacheStats {
+  /**
+   * The result of {@link #getParsed(String)} if the rome number is not cached.
+   */
+  static final long MISSING = Long.MIN_VALUE;
+  /**
+   * The expected memory used per cached number of a typical length, used to size the caches.
+   */
+  static final int ESTIMATED_ENTRY_SIZE = 64;
+  /**
+   * The estimated memory used per slot, one reference and the four sketch counters of the slot.
+   */
+  private static final int SLOT_SIZE = 10;
+  /**
+   * The estimated memory used per cached entry excluding the chars of its rome number, covering
+   * the entry object, the string object and the header of the char array of the string.
+   */
+  private static final int ENTRY_OVERHEAD = 56;
+  /**
+   * The minimum amount of slots of each cache.
+   */
+  private static final int MIN_CAPACITY = 16;
+  /**
+   * The amount of slots in each bucket a number can be stored in.
+   */
+  private static final int WAYS = 4;
+
+  private final AtomicReferenceArray<WriteEntry> writeEntries;
+  private final AtomicReferenceArray<ParseEntry> parseEntries;
+  private final FrequencySketch writeFrequencies;
+  private final FrequencySketch parseFrequencies;
+
+  private final LongAdder hits = new LongAdder();
+  private final LongAdder misses = new LongAdder();
+  private final LongAdder evictions = new LongAdder();
+
+  /**
+   * The amount of bytes the cached entries may use, the budget left after allocating the slots.
+   */
+  private final long entryBudget;
+  /**
+   * The estimated amount of bytes used by all cached entries of both caches.
+   */
+  private final AtomicLong entryBytes = new AtomicLong();
+
+  NumberCache(long memoryBudget) {
+    // the budget is shared by the write and the parse cache
+    final long entries = Math.max(MIN_CAPACITY, Math.min(1 << 30, memoryBudget / ESTIMATED_ENTRY_SIZE / 2));
+    final int capacity = Integer.highestOneBit((int) entries);
+    this.entryBudget = Math.max(0, memoryBudget - 2L * capacity * SLOT_SIZE);
+
+    this.writeEntries = new AtomicReferenceArray<>(capacity);
+    this.parseEntries = new AtomicReferenceArray<>(capacity);
+    this.writeFrequencies = new FrequencySketch(capacity);
+    this.parseFrequencies = new FrequencySketch(capacity);
+  }
+
+  /**
+   * Spreads the bits of the given hash to reduce collisions of similar keys.
+   *
+   * @param hash The hash to spread.
+   * @return The spread hash.
+   */
+  private static int spread(int hash) {
+    hash *= 0x9E3779B9;
+    return hash ^ (hash >>> 16);
+  }
+
+  /**
+   * Estimates the memory used by a cached entry holding the given rome number.
+   *
+   * @param rome The rome number of the entry.
+   * @return The estimated amount of bytes used by the entry.
+   */
+  private static long sizeOf(@NotNull String rome) {
+    return ENTRY_OVERHEAD + 2L * rome.length();
+  }
+
+  /**
+   * Reserves the given amount of bytes for cached entries, if the budget has enough room left.
+   *
+   * @param bytes The amount of bytes to reserve.
+   * @return If the bytes were reserved.
+   */
+  private boolean reserve(long bytes) {
+    long used;
+    do {
+      used = this.entryBytes.get();
+      if (used + bytes > this.entryBudget) {
+        return false;
+      }
+    } while (!this.entryBytes.compareAndSet(used, used + bytes));
+    return true;
+  }
+
+  /**
+   * Releases the given amount of bytes previously reserved for cached entries.
+   *
+   * @param bytes The amount of bytes to release.
+   */
+  private void release(long bytes) {
+    this.entryBytes.addAndGet(-bytes);
+  }
+
+  /**
+   * Gets the estimated amount of bytes used by all cached entries, which never exceeds the part
+   * of the memory budget left after allocating the slots.
+   *
+   * @return The estimated amount of bytes used by all cached entries.
+   */
+  long getEntryBytes() {
+    return this.entryBytes.get();
+  }
+
+  /**
+   * Gets the index of the first slot of the bucket of the given hash.
+   *
+   * @param hash     The spread hash of the key.
+   * @param capacity The amount of slots of the cache, a power of two.
+   * @return The index of the first slot of the bucket.
+   */
+  private static int bucketOf(int hash, int capacity) {
+    return hash & (capacity - WAYS);
+  }
+
+  /**
+   * Gets the cached rome number of the given arabic number.
+   *
+   * @param number The arabic number to get the rome number of.
+   * @return The cached rome number or {@code null} if the number is not cached.
+   */
+  @Nullable String getWritten(int number) {
+    final int hash = spread(number);
+    this.writeFrequencies.increment(hash);
+
+    final int bucket = bucketOf(hash, this.writeEntries.length());
+    for (int slot = bucket; slot < bucket + WAYS; slot++) {
+      final WriteEntry entry = this.writeEntries.get(slot);
+      if (entry != null && entry.number == number) {
+        this.hits.increment();
+        return entry.rome;
+      }
+    }
+    this.misses.increment();
+    return null;
+  }
+
+  /**
+   * Caches the rome number of the given arabic number, if there is a free slot in its bucket or it
+   * was accessed more often recently than the least frequently used number in its bucket, and the
+   * memory budget has enough room left.
+   *
+   * @param number The arabic number to cache the rome number of.
+   * @param rome   The rome number to cache.
+   */
+  void putWritten(int number, @NotNull String rome) {
+    final int hash = spread(number);
+    final int bucket = bucketOf(hash, this.writeEntries.length());
+
+    int victimSlot = -1;
+    WriteEntry victim = null;
+    int victimFrequency = Integer.MAX_VALUE;
+    final long size = sizeOf(rome);
+    for (int slot = bucket; slot < bucket + WAYS; slot++) {
+      final WriteEntry entry = this.writeEntries.get(slot);
+      if (entry == null) {
+        if (this.reserve(size) && !this.writeEntries.compareAndSet(slot, null, new WriteEntry(number, rome))) {
+          // another thread filled the slot in the meantime
+          this.release(size);
+        }
+        return;
+      }
+      if (entry.number == number) {
+        return;
+      }
+
+      final int frequency = this.writeFrequencies.frequency(spread(entry.number));
+      if (frequency < victimFrequency) {
+        victimSlot = slot;
+        victim = entry;
+        victimFrequency = frequency;
+      }
+    }
+
+    // only reserve the bytes the replacement needs in addition to the victim
+    final long growth = size - sizeOf(victim.rome);
+    if (this.writeFrequencies.frequency(hash) > victimFrequency && this.reserve(Math.max(0, growth))) {
+      if (this.writeEntries.compareAndSet(victimSlot, victim, new WriteEntry(number, rome))) {
+        this.release(Math.max(0, -growth));
+        this.evictions.increment();
+      } else {
+        // another thread replaced the victim in the meantime
+        this.release(Math.max(0, growth));
+      }
+    }
+  }
+
+  /**
+   * Gets the cached arabic value of the given rome number.
+   *
+   * @param rome The rome number to get the arabic value of.
+   * @return The cached arabic value or {@link #MISSING} if the rome number is not cached.
+   */
+  long getParsed(@NotNull String rome) {
+    final int hash = spread(rome.hashCode());
+    this.parseFrequencies.increment(hash);
+
+    final int bucket = bucketOf(hash, this.parseEntries.length());
+    for (int slot = bucket; slot < bucket + WAYS; slot++) {
+      final ParseEntry entry = this.parseEntries.get(slot);
+      if (entry != null && entry.rome.equals(rome)) {
+        this.hits.increment();
+        return entry.number;
+      }
+    }
+    this.misses.increment();
+    return MISSING;
+  }
+
+  /**
+   * Caches the arabic value of the given rome number, if there is a free slot in its bucket or it
+   * was accessed more often recently than the least frequently used rome number in its bucket, and
+   * the memory budget has enough room left.
+   *
+   * @param rome   The rome number to cache the arabic value of.
+   * @param number The arabic value to cache.
+   */
+  void putParsed(@NotNull String rome, int number) {
+    final int hash = spread(rome.hashCode());
+    final int bucket = bucketOf(hash, this.parseEntries.length());
+
+    int victimSlot = -1;
+    ParseEntry victim = null;
+    int victimFrequency = Integer.MAX_VALUE;
+    final long size = sizeOf(rome);
+    for (int slot = bucket; slot < bucket + WAYS; slot++) {
+      final ParseEntry entry = this.parseEntries.get(slot);
+      if (entry == null) {
+        if (this.reserve(size) && !this.parseEntries.compareAndSet(slot, null, new ParseEntry(rome, number))) {
+          // another thread filled the slot in the meantime
+          this.release(size);
+        }
+        return;
+      }
+      if (entry.rome.equals(rome)) {
+        return;
+      }
+
+      final int frequency = this.parseFrequencies.frequency(spread(entry.rome.hashCode()));
+      if (frequency < victimFrequency) {
+        victimSlot = slot;
+        victim = entry;
+        victimFrequency = frequency;
+      }
+    }
+
+    // only reserve the bytes the replacement needs in addition to the victim
+    final long growth = size - sizeOf(victim.rome);
+    if (this.parseFrequencies.frequency(hash) > victimFrequency && this.reserve(Math.max(0, growth))) {
+      if (this.parseEntries.compareAndSet(victimSlot, victim, new ParseEntry(rome, number))) {
+        this.release(Math.max(0, -growth));
+        this.evictions.increment();
+      } else {
+        // another thread replaced the victim in the meantime
+        this.release(Math.max(0, growth));
+      }
+    }
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public long getHitCount() {
+    return this.hits.sum();
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public long getMissCount() {
+    return this.misses.sum();
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public long getEvictionCount() {
+    return this.evictions.sum();
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public int getCapacity() {
+    return this.writeEntries.length() + this.parseEntries.length();
+  }
+
+  /**
+   * A cached rome number of an arabic number.
+   */
+  private static final class WriteEntry {
+
+    private final int number;
+    private final String rome;
+
+    private WriteEntry(int number, String rome) {
+      this.number = number;
+      this.rome = rome;
+    }
+  }
+
+  /**
+   * A cached arabic value of a rome number.
+   */
+  private static final class ParseEntry {
+
+    private final String rome;
+    private final int number;
+
+    private ParseEntry(String rome, int number) {
+      this.rome = rome;
+      this.number = number;
+    }
+  }
+}
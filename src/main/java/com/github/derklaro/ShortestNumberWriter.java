@@ -0,0 +1,247 @@
+/*
+ * This file is part of intera, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) Pasqual Koschmieder <https://github.com/derklaro>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.github.derklaro;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Writes the shortest well-formed rome number of each arabic number up to a highest number. A rome
+ * number is a sequence of single chars and allowed subtractions (tokens). It is well-formed if no
+ * token is larger than the token before it, every token after a subtraction is smaller than the
+ * subtracted char, it does not contain more same chars in a row than allowed and it is parsed back
+ * to the same number by {@link DefaultIntera}. Shorter numbers which are not well-formed, like
+ * {@code IXIX} for {@code 18}, are never written. The shortest numbers are computed once using
+ * dynamic programming over the tokens. The computation needs time and memory proportional to the
+ * highest number multiplied by the amount of tokens and the maximum same chars in a row.
+ *
+ * @author Pasqual Koschmieder
+ * @since 1.1.0
+ */
+final class ShortestNumberWriter {
+  /**
+   * The length of numbers which can not be written.
+   */
+  private static final int UNWRITABLE = Integer.MAX_VALUE;
+
+  private final char[] symbols;
+  private final int[] values;
+  /**
+   * The tokens, sorted descending by their value to prefer large tokens if lengths are equal.
+   */
+  private final Token[] tokens;
+  /**
+   * The maximum same chars in a row, {@code 0} if unlimited.
+   */
+  private final int maxRun;
+  /**
+   * The amount of states per token, one for each possible amount of same chars in a row at its end.
+   */
+  private final int statesPerToken;
+  /**
+   * The amount of states, including the start state {@code 0}.
+   */
+  private final int stateCount;
+  /**
+   * The index of the token starting the shortest number for each number and state, {@code -1} if unwritable.
+   */
+  private final int[] choices;
+
+  ShortestNumberWriter(
+    char[] symbols,
+    int[] values,
+    @NotNull SubtractionValidator validator,
+    int maxCharsInRow,
+    int highestNumber
+  ) {
+    this.symbols = symbols;
+    this.values = values;
+    this.tokens = createTokens(values, validator);
+    this.maxRun = maxCharsInRow > 1 ? maxCharsInRow : 0;
+    this.statesPerToken = Math.max(1, this.maxRun);
+    this.stateCount = 1 + this.tokens.length * this.statesPerToken;
+
+    final long tableSize = ((long) highestNumber + 1) * this.stateCount;
+    if (tableSize > Integer.MAX_VALUE - 8) {
+      throw new InteraException("Unable to compute the shortest numbers up to " + highestNumber);
+    }
+    this.choices = new int[(int) tableSize];
+    this.computeChoices(highestNumber);
+  }
+
+  /**
+   * Creates the tokens of all single chars and allowed subtractions with a positive value.
+   *
+   * @param values    The arabic values of the associations.
+   * @param validator The validator checking if subtractions are allowed.
+   * @return The tokens, sorted descending by their value.
+   */
+  private static Token @NotNull [] createTokens(int[] values, @NotNull SubtractionValidator validator) {
+    final List<Token> tokens = new ArrayList<>();
+    for (int i = 0; i < values.length; i++) {
+      if (values[i] <= 0) {
+        continue;
+      }
+
+      tokens.add(new Token(-1, i, values[i]));
+      for (int j = 0; j < values.length; j++) {
+        if (values[j] > values[i] && !validator.isIllegalSubtraction(values[j], values[i])) {
+          tokens.add(new Token(i, j, values[j] - values[i]));
+        }
+      }
+    }
+
+    tokens.sort((left, right) -> Integer.compare(right.value, left.value));
+    return tokens.toArray(new Token[0]);
+  }
+
+  /**
+   * Writes the shortest rome number of the given arabic number.
+   *
+   * @param number The number to write, at most the highest number given when creating this writer.
+   * @return The shortest rome number or {@code null} if the number can not be written.
+   */
+  @Nullable String write(int number) {
+    final StringBuilder builder = new StringBuilder();
+    int state = 0;
+    while (number > 0) {
+      final int choice = this.choices[number * this.stateCount + state];
+      if (choice == -1) {
+        return null;
+      }
+
+      final Token token = this.tokens[choice];
+      if (token.subtrahend != -1) {
+        builder.append(this.symbols[token.subtrahend]);
+      }
+      builder.append(this.symbols[token.symbol]);
+      state = this.nextState(state, choice);
+      number -= token.value;
+    }
+    return builder.toString();
+  }
+
+  /**
+   * Computes the token starting the shortest number for each number and state, in ascending
+   * order of the numbers as each number only depends on smaller numbers.
+   *
+   * @param highestNumber The highest number to compute the shortest number of.
+   */
+  private void computeChoices(int highestNumber) {
+    final int[] lengths = new int[this.choices.length];
+    Arrays.fill(lengths, this.stateCount, lengths.length, UNWRITABLE);
+    Arrays.fill(this.choices, -1);
+
+    for (int number = 1; number <= highestNumber; number++) {
+      for (int state = 0; state < this.stateCount; state++) {
+        int bestLength = UNWRITABLE;
+        int bestChoice = -1;
+        for (int i = 0; i < this.tokens.length; i++) {
+          final Token token = this.tokens[i];
+          final int next = token.value > number ? -1 : this.nextState(state, i);
+          if (next != -1) {
+            final int remaining = lengths[(number - token.value) * this.stateCount + next];
+            if (remaining != UNWRITABLE && remaining + token.length() < bestLength) {
+              bestLength = remaining + token.length();
+              bestChoice = i;
+            }
+          }
+        }
+
+        lengths[number * this.stateCount + state] = bestLength;
+        this.choices[number * this.stateCount + state] = bestChoice;
+      }
+    }
+  }
+
+  /**
+   * Gets the state after writing the token at the given index in the given state. State {@code 0}
+   * is the start state, all other states are the last written token and the amount of same chars
+   * in a row at its end.
+   *
+   * @param state The state before writing the token.
+   * @param index The index of the token to write.
+   * @return The state after writing the token or {@code -1} if the token may not follow the state.
+   */
+  private int nextState(int state, int index) {
+    final Token token = this.tokens[index];
+    final int first = token.subtrahend == -1 ? token.symbol : token.subtrahend;
+    int run = 1;
+    if (state != 0) {
+      final Token last = this.tokens[(state - 1) / this.statesPerToken];
+      if (token.value > last.value || (last.subtrahend != -1 && token.value >= this.values[last.subtrahend])) {
+        // the values must not increase and must be smaller than a previously subtracted value
+        return -1;
+      }
+      if (last.subtrahend == -1 && this.values[first] > this.values[last.symbol]) {
+        // the last single char would be subtracted from the first char when parsing
+        return -1;
+      }
+      if (first == last.symbol) {
+        run = (state - 1) % this.statesPerToken + 2;
+      }
+    }
+
+    if (this.maxRun == 0) {
+      run = 1;
+    } else if (run > this.maxRun) {
+      return -1;
+    }
+    // the subtracted char is always different from the char it gets subtracted from
+    return 1 + index * this.statesPerToken + (token.subtrahend == -1 ? run - 1 : 0);
+  }
+
+  /**
+   * A single char or a subtraction of two chars.
+   */
+  private static final class Token {
+
+    /**
+     * The index of the association which gets subtracted, {@code -1} if this is a single char.
+     */
+    private final int subtrahend;
+    private final int symbol;
+    private final int value;
+
+    private Token(int subtrahend, int symbol, int value) {
+      this.subtrahend = subtrahend;
+      this.symbol = symbol;
+      this.value = value;
+    }
+
+    /**
+     * Gets the amount of chars of this token.
+     *
+     * @return the amount of chars of this token.
+     */
+    private int length() {
+      return this.subtrahend == -1 ? 1 : 2;
+    }
+  }
+}
@@ -0,0 +1,146 @@
+/*
+ * This file is part of intera, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) Pasqual Koschmieder <https://github.com/derklaro>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.github.derklaro;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.nio.Buffer;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.util.Arrays;
+import java.util.function.IntPredicate;
+
+/**
+ * Decodes the ascii or utf-8 encoded rome number at the position of a byte buffer into a reused
+ * char buffer, to parse it using {@link Intera.Decoder#decode(CharSequence, int, int)}. Malformed
+ * utf-8, including overlong encodings and surrogates, ends the rome number like any other char
+ * which is not part of it. Instances of this class are not thread safe.
+ *
+ * @author Pasqual Koschmieder
+ * @since 1.1.0
+ */
+final class Utf8CharReader {
+
+  /**
+   * The chars decoded from the last byte buffer.
+   */
+  private char[] chars = new char[16];
+  /**
+   * A reused char sequence view of {@link #chars}.
+   */
+  private CharBuffer charsView = CharBuffer.wrap(this.chars);
+
+  /**
+   * Checks if the given char can be part of a rome number of any intera instance, which is the case
+   * for letters and letter numbers (like {@code ↁ}).
+   *
+   * @param c The char to check.
+   * @return If the given char can be part of a rome number.
+   */
+  static boolean isNumeralChar(int c) {
+    return Character.isLetter(c) || Character.getType(c) == Character.LETTER_NUMBER;
+  }
+
+  /**
+   * Decodes all chars accepted by the given filters, starting at the current position of the given
+   * buffer, and parses them using the given decoder. Ignored chars are only decoded if they are
+   * followed by a symbol, the rome number ends behind its last symbol. On success the position of
+   * the buffer is moved behind the decoded chars, otherwise the buffer is unchanged.
+   *
+   * @param buffer  The buffer to decode the rome number from.
+   * @param symbols The filter accepting the symbols of the rome number.
+   * @param ignored The filter accepting the chars which are skipped when parsing the rome number.
+   * @param decoder The decoder to parse the rome number with.
+   * @return The arabic value of the rome number.
+   * @throws InteraException If the rome number is invalid.
+   */
+  int decode(
+    @NotNull ByteBuffer buffer,
+    @NotNull IntPredicate symbols,
+    @NotNull IntPredicate ignored,
+    @NotNull Intera.Decoder decoder
+  ) throws InteraException {
+    int position = buffer.position();
+    int length = 0;
+    // the position and length behind the last symbol
+    int end = position;
+    int endLength = 0;
+    final int limit = buffer.limit();
+    while (position < limit) {
+      final int b = buffer.get(position);
+      final char c;
+      final int size;
+      if (b >= 0) {
+        c = (char) b;
+        size = 1;
+      } else if ((b & 0xE0) == 0xC0 && isContinuation(buffer, position + 1, limit)) {
+        c = (char) (((b & 0x1F) << 6) | (buffer.get(position + 1) & 0x3F));
+        size = 2;
+      } else if ((b & 0xF0) == 0xE0 && isContinuation(buffer, position + 1, limit) && isContinuation(buffer, position + 2, limit)) {
+        c = (char) (((b & 0x0F) << 12) | ((buffer.get(position + 1) & 0x3F) << 6) | (buffer.get(position + 2) & 0x3F));
+        size = 3;
+      } else {
+        break;
+      }
+
+      // overlong encodings and surrogates are invalid utf-8, otherwise "XII" could be hidden from
+      // byte based checks by encoding it with two bytes per char
+      if ((size == 2 && c < 0x80) || (size == 3 && (c < 0x800 || Character.isSurrogate(c)))) {
+        break;
+      }
+      final boolean symbol = symbols.test(c);
+      if (!symbol && !ignored.test(c)) {
+        break;
+      }
+      if (length == this.chars.length) {
+        this.chars = Arrays.copyOf(this.chars, length << 1);
+        this.charsView = CharBuffer.wrap(this.chars);
+      }
+      this.chars[length++] = c;
+      position += size;
+      if (symbol) {
+        end = position;
+        endLength = length;
+      }
+    }
+
+    final int result = decoder.decode(this.charsView, 0, endLength);
+    // cast to buffer to stay compatible with java 8 which has no covariant overrides
+    ((Buffer) buffer).position(end);
+    return result;
+  }
+
+  /**
+   * Checks if the byte at the given index of the buffer is an utf-8 continuation byte.
+   *
+   * @param buffer The buffer to check the byte of.
+   * @param index  The index of the byte to check.
+   * @param limit  The limit of the buffer.
+   * @return If the byte at the given index is an utf-8 continuation byte.
+   */
+  private static boolean isContinuation(@NotNull ByteBuffer buffer, int index, int limit) {
+    return index < limit && (buffer.get(index) & 0xC0) == 0x80;
+  }
+}
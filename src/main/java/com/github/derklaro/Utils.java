@@ -27,6 +27,8 @@
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 
+import java.nio.BufferOverflowException;
+import java.nio.ByteBuffer;
 import java.util.Collections;
 import java.util.Map;
 import java.util.concurrent.ConcurrentHashMap;
@@ -47,28 +49,19 @@ final class Utils {
    */
   public static final SubtractionValidator DISABLED = (i1, i2) -> Boolean.FALSE;
   /**
-   * The jvm static default instance of intera, using the default mappings.
+   * The classpath resource of the shipped snapshot of the default intera instance.
    */
-  public static final Intera DEFAULT_IMPL = Intera.builder().defaultAssociations().build();
+  public static final String DEFAULT_SNAPSHOT = "com/github/derklaro/defaults.intera";
+  /**
+   * The highest number precomputed in the default intera instance, the highest number which
+   * can be written using the default mappings and the default rules.
+   */
+  public static final int DEFAULT_PRECOMPUTED = 3999;
 
   private Utils() {
     throw new UnsupportedOperationException();
   }
 
-  /**
-   * Checks if a subtraction is illegally made according to the rules of the given {@code validator}.
-   *
-   * @param validator The validator which checks the subtraction.
-   * @param current   The number from which the subtraction will be made.
-   * @param before    The number which gets subtracted.
-   * @throws InteraException If the subtraction is illegally made.
-   */
-  public static void checkIllegalSubtraction(@NotNull SubtractionValidator validator, int current, int before) {
-    if (validator.isIllegalSubtraction(current, before)) {
-      throw new InteraException("Cannot subtract " + before + " from " + current);
-    }
-  }
-
   /**
    * Throws an exception if the supplied {@code object} is {@code null}.
    *
@@ -83,43 +76,59 @@ public static void notNull(@Nullable Object object, @NotNull String message) {
   }
 
   /**
-   * Ensures that the provided rome number count in a row is used.
+   * Writes the given chars utf-8 encoded into the given buffer, starting at its current position.
+   * The position of the buffer is moved behind the written bytes.
    *
-   * @param rome     The rome text string.
-   * @param maxInRow The max rome numbers allowed in a row. Less than {@code 1} means disabled.
-   * @return The chars of the given {@code rome} input.
-   * @throws InteraException If there are more chars in a row than the maximum allowed.
+   * @param chars  The chars to write.
+   * @param target The buffer to write the chars to.
+   * @throws BufferOverflowException If the buffer has not enough space remaining, the buffer is unchanged in that case.
    */
-  public static char[] ensureValid(@NotNull String rome, int maxInRow) {
-    final char[] chars = rome.toCharArray();
-    if (maxInRow <= 1) {
-      return chars;
+  public static void writeUtf8(@NotNull CharSequence chars, @NotNull ByteBuffer target) {
+    int length = 0;
+    for (int i = 0; i < chars.length(); i++) {
+      final char c = chars.charAt(i);
+      length += c < 0x80 ? 1 : c < 0x800 ? 2 : 3;
+    }
+    if (target.remaining() < length) {
+      throw new BufferOverflowException();
     }
 
-    for (int i = 0; i < chars.length; i++) {
-      if (i >= maxInRow) {
-        ensureValid(chars, i, maxInRow - 1);
+    for (int i = 0; i < chars.length(); i++) {
+      final char c = chars.charAt(i);
+      if (c < 0x80) {
+        target.put((byte) c);
+      } else if (c < 0x800) {
+        target.put((byte) (0xC0 | (c >> 6)));
+        target.put((byte) (0x80 | (c & 0x3F)));
+      } else {
+        target.put((byte) (0xE0 | (c >> 12)));
+        target.put((byte) (0x80 | ((c >> 6) & 0x3F)));
+        target.put((byte) (0x80 | (c & 0x3F)));
       }
     }
-    return chars;
   }
 
   /**
-   * Ensures that the provided rome number count in a row is used.
+   * Loads the default intera instance from the shipped snapshot. If the snapshot is not
+   * available the instance gets computed instead.
    *
-   * @param chars    The chars of the rome text string.
-   * @param index    The index to start the check at.
-   * @param maxInRow The max rome numbers allowed in a row.
-   * @throws InteraException If there are more chars in a row than the maximum allowed.
+   * @return the default intera instance, using the default mappings.
    */
-  private static void ensureValid(char[] chars, int index, int maxInRow) {
-    final char current = chars[index];
-    for (int i = 0; i < maxInRow; i++) {
-      if (chars[i] != current) {
-        return;
-      }
+  private static @NotNull Intera loadDefaultImpl() {
+    try {
+      return InteraSnapshot.readResource(DEFAULT_SNAPSHOT);
+    } catch (InteraException exception) {
+      return computeDefaultImpl();
     }
-    throw new InteraException("More than " + maxInRow + " chars of " + current + " in a row");
+  }
+
+  /**
+   * Computes the default intera instance, which is stored in the shipped snapshot.
+   *
+   * @return the computed default intera instance, using the default mappings.
+   */
+  static @NotNull Intera computeDefaultImpl() {
+    return Intera.builder().defaultAssociations().precompute(DEFAULT_PRECOMPUTED).build();
   }
 
   /**
@@ -138,4 +147,18 @@ private static void ensureValid(char[] chars, int index, int maxInRow) {
     assertions.put('M', 1000);
     return Collections.unmodifiableMap(assertions);
   }
+
+  /**
+   * Holds the jvm static default instance of intera, which is only loaded when first requested.
+   */
+  static final class DefaultImplHolder {
+    /**
+     * The jvm static default instance of intera, using the default mappings.
+     */
+    public static final Intera DEFAULT_IMPL = loadDefaultImpl();
+
+    private DefaultImplHolder() {
+      throw new UnsupportedOperationException();
+    }
+  }
 }
@@ -0,0 +1,64 @@
+/*
+ * This file is part of intera, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) Pasqual Koschmieder <https://github.com/derklaro>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.github.derklaro;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.io.IOException;
+
+/**
+ * A table holding the precomputed rome numbers of all arabic numbers from {@code 1} up to
+ * the highest precomputed number. Implementations must be safe for concurrent reads.
+ *
+ * @author Pasqual Koschmieder
+ * @since 1.1.0
+ */
+interface WriteTable {
+  /**
+   * Gets the highest arabic number precomputed in this table.
+   *
+   * @return the highest arabic number precomputed in this table, {@code 0} if the table is empty.
+   */
+  int getHighestNumber();
+
+  /**
+   * Gets the precomputed rome number of the given arabic {@code number}.
+   *
+   * @param number The arabic number to get the rome number of.
+   * @return The precomputed rome number or {@code null} if the number was not precomputed or can not be written.
+   */
+  @Nullable String get(int number);
+
+  /**
+   * Appends the precomputed rome number of the given arabic {@code number} to the given target.
+   *
+   * @param number The arabic number to append the rome number of.
+   * @param target The target to append the rome number to.
+   * @return If the number was precomputed and appended to the target.
+   * @throws IOException If the target throws an exception.
+   */
+  boolean appendTo(int number, @NotNull Appendable target) throws IOException;
+}
@@ -0,0 +1,173 @@
+/*
+ * This file is part of intera, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) Pasqual Koschmieder <https://github.com/derklaro>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.github.derklaro;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.CyclicBarrier;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Measures the throughput of intera instances shared by an increasing amount of threads. Run it
+ * using {@code ./gradlew benchmark}, optionally passing the measured seconds per run and the
+ * highest amount of threads as arguments. The throughput per thread should stay roughly the same
+ * for all thread counts up to the amount of physical cores.
+ *
+ * @author Pasqual Koschmieder
+ * @since 1.1.0
+ */
+final class ConcurrencyBenchmark {
+  /**
+   * The amount of pregenerated keys, a power of two.
+   */
+  private static final int KEY_COUNT = 1 << 16;
+
+  private ConcurrencyBenchmark() {
+    throw new UnsupportedOperationException();
+  }
+
+  public static void main(String[] args) throws Exception {
+    final double seconds = args.length > 0 ? Double.parseDouble(args[0]) : 1;
+    final int maxThreads = args.length > 1 ? Integer.parseInt(args[1]) : Runtime.getRuntime().availableProcessors();
+
+    // not precomputed, so that all numbers go through the cache
+    final Intera cached = Intera.builder().defaultAssociations().cache(16 * 1024).build();
+    final int[] numbers = skewedNumbers(3999);
+    final String[] romes = new String[KEY_COUNT];
+    for (int i = 0; i < KEY_COUNT; i++) {
+      romes[i] = Intera.defaults().write(numbers[i]);
+    }
+
+    run("defaults write", seconds, maxThreads, i -> Intera.defaults().write(numbers[i]).length());
+    run("defaults parse", seconds, maxThreads, i -> Intera.defaults().parse(romes[i]));
+    run("cached write", seconds, maxThreads, i -> cached.write(numbers[i]).length());
+    run("cached parse", seconds, maxThreads, i -> cached.parse(romes[i]));
+  }
+
+  /**
+   * Generates numbers between {@code 1} and the given number, with small numbers being much more
+   * frequent than large numbers like in real world texts.
+   *
+   * @param highest The highest number to generate.
+   * @return The generated numbers.
+   */
+  private static int[] skewedNumbers(int highest) {
+    final Random random = new Random(42);
+    final int[] numbers = new int[KEY_COUNT];
+    for (int i = 0; i < numbers.length; i++) {
+      numbers[i] = 1 + (int) (Math.pow(random.nextDouble(), 4) * highest);
+    }
+    return numbers;
+  }
+
+  /**
+   * Runs the given operation on 1, 2, 4, ... up to the given amount of threads and prints the
+   * operations per second for each thread count.
+   *
+   * @param name       The name of the operation.
+   * @param seconds    The seconds to measure each thread count.
+   * @param maxThreads The highest amount of threads.
+   * @param operation  The operation to run, getting a key index.
+   * @throws Exception If a thread fails.
+   */
+  private static void run(String name, double seconds, int maxThreads, Operation operation) throws Exception {
+    System.out.printf("%s%n%8s %16s %16s%n", name, "threads", "ops/s", "ops/s/thread");
+    for (int threads = 1; threads <= maxThreads; threads = threads == maxThreads ? threads + 1 : Math.min(maxThreads, threads << 1)) {
+      final long operations = measure(threads, seconds, operation);
+      System.out.printf("%8d %16d %16d%n", threads, (long) (operations / seconds), (long) (operations / seconds / threads));
+    }
+  }
+
+  /**
+   * Runs the given operation on the given amount of threads, after a warmup of the same duration.
+   *
+   * @param threadCount The amount of threads.
+   * @param seconds     The seconds to measure.
+   * @param operation   The operation to run.
+   * @return The amount of operations completed by all threads while measuring.
+   * @throws Exception If a thread fails.
+   */
+  private static long measure(int threadCount, double seconds, Operation operation) throws Exception {
+    final long nanos = (long) (seconds * 1_000_000_000L);
+    final CyclicBarrier barrier = new CyclicBarrier(threadCount);
+    final LongAdder operations = new LongAdder();
+    final LongAdder sink = new LongAdder();
+    final List<Thread> threads = new ArrayList<>();
+    final List<Throwable> failures = new ArrayList<>();
+
+    for (int t = 0; t < threadCount; t++) {
+      final int offset = t * (KEY_COUNT / Math.max(1, threadCount));
+      final Thread thread = new Thread(() -> {
+        try {
+          for (int phase = 0; phase < 2; phase++) {
+            barrier.await();
+            final long end = System.nanoTime() + nanos;
+            long completed = 0;
+            long result = 0;
+            int index = offset;
+            while ((completed & 0xFF) != 0 || System.nanoTime() < end) {
+              result += operation.run(index++ & (KEY_COUNT - 1));
+              completed++;
+            }
+            if (phase == 1) {
+              operations.add(completed);
+            }
+            sink.add(result);
+          }
+        } catch (Throwable throwable) {
+          synchronized (failures) {
+            failures.add(throwable);
+          }
+        }
+      });
+      threads.add(thread);
+      thread.start();
+    }
+
+    for (Thread thread : threads) {
+      thread.join();
+    }
+    if (!failures.isEmpty()) {
+      throw new IllegalStateException("Benchmark thread failed", failures.get(0));
+    }
+    return operations.sum();
+  }
+
+  /**
+   * An operation to measure.
+   */
+  @FunctionalInterface
+  private interface Operation {
+
+    /**
+     * Runs the operation with the key at the given index.
+     *
+     * @param index The index of the key.
+     * @return A result which is consumed to prevent dead code elimination.
+     */
+    int run(int index);
+  }
+}
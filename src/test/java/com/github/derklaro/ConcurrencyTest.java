@@ -0,0 +1,106 @@
+/*
+ * This file is part of intera, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) Pasqual Koschmieder <https://github.com/derklaro>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.github.derklaro;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CyclicBarrier;
+import java.util.concurrent.atomic.AtomicReference;
+
+final class ConcurrencyTest {
+
+  private static final int THREADS = Math.max(4, Runtime.getRuntime().availableProcessors());
+  private static final int ROUNDS = 20;
+
+  @Test
+  void testSharedDefaults() throws Exception {
+    assertConcurrentlyCorrect(Intera.defaults());
+  }
+
+  @Test
+  void testSharedCache() throws Exception {
+    // a tiny cache, so that concurrent lookups race with insertions and evictions
+    final Intera intera = Intera.builder().defaultAssociations().cache(4 * 1024).build();
+    assertConcurrentlyCorrect(intera);
+
+    final Intera.CacheStats stats = intera.cacheStats();
+    Assertions.assertNotNull(stats);
+    Assertions.assertTrue(stats.getEvictionCount() > 0);
+  }
+
+  @Test
+  void testSharedOffHeapTable() throws Exception {
+    assertConcurrentlyCorrect(Intera.builder().defaultAssociations().precompute(3999).precomputeOffHeap(true).build());
+  }
+
+  /**
+   * Starts all threads of each round at the same time, each thread parsing and writing all numbers
+   * in a different order, and checks every result against the results of a single thread.
+   *
+   * @param intera The shared instance to check.
+   * @throws Exception If a thread fails or sees a wrong result.
+   */
+  private static void assertConcurrentlyCorrect(Intera intera) throws Exception {
+    final String[] expected = new String[4000];
+    for (int i = 1; i < expected.length; i++) {
+      expected[i] = Intera.defaults().write(i);
+    }
+
+    for (int round = 0; round < ROUNDS; round++) {
+      final CyclicBarrier barrier = new CyclicBarrier(THREADS);
+      final AtomicReference<Throwable> failure = new AtomicReference<>();
+      final List<Thread> threads = new ArrayList<>();
+      for (int t = 0; t < THREADS; t++) {
+        final int stride = 2 * t + 1;
+        final Thread thread = new Thread(() -> {
+          try {
+            final Intera.Encoder encoder = intera.newEncoder();
+            barrier.await();
+            for (int i = 0; i < 3999; i++) {
+              final int value = (int) ((long) i * stride % 3999) + 1;
+              Assertions.assertEquals(expected[value], intera.write(value));
+              Assertions.assertEquals(value, intera.parse(expected[value]));
+              Assertions.assertEquals(expected[value], encoder.encode(value).toString());
+            }
+          } catch (Throwable throwable) {
+            failure.compareAndSet(null, throwable);
+          }
+        });
+        threads.add(thread);
+        thread.start();
+      }
+
+      for (Thread thread : threads) {
+        thread.join();
+      }
+      if (failure.get() != null) {
+        throw new AssertionError("Concurrent access failed in round " + round, failure.get());
+      }
+    }
+  }
+}
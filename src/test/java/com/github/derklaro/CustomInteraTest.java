@@ -24,9 +24,13 @@
  */
 package com.github.derklaro;
 
+import org.jetbrains.annotations.NotNull;
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.Test;
 
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+
 public class CustomInteraTest {
 
   @Test
@@ -65,4 +69,207 @@ void testMaxCharsInRow() {
       .write(4000)
     );
   }
+
+  @Test
+  void testOffHeapPrecomputation() {
+    final Intera heap = Intera.builder()
+      .defaultAssociations()
+      .registerAssociation('ↁ', 5000)
+      .registerAssociation('ↂ', 10000)
+      .precompute(39999)
+      .build();
+    final Intera offHeap = Intera.builder()
+      .defaultAssociations()
+      .registerAssociation('ↁ', 5000)
+      .registerAssociation('ↂ', 10000)
+      .precompute(39999)
+      .precomputeOffHeap(true)
+      .build();
+
+    final StringBuilder builder = new StringBuilder();
+    for (int i = 1; i <= 40000; i += 7) {
+      builder.setLength(0);
+      offHeap.writeTo(i, builder);
+      Assertions.assertEquals(heap.write(i), offHeap.write(i));
+      Assertions.assertEquals(heap.write(i), builder.toString());
+    }
+  }
+
+  @Test
+  void testUtf8ByteBufferCoding() {
+    final Intera intera = Intera.builder()
+      .defaultAssociations()
+      .registerAssociation('ↁ', 5000)
+      .registerAssociation('ↂ', 10000)
+      .build();
+    final ByteBuffer buffer = ByteBuffer.allocate(64);
+    intera.newEncoder().encode(12345, buffer);
+    buffer.put((byte) ';').flip();
+
+    Assertions.assertEquals(12345, intera.newDecoder().decode(buffer));
+    Assertions.assertEquals(';', buffer.get());
+  }
+
+  @Test
+  void testCache() {
+    final Intera intera = Intera.builder().defaultAssociations().cache(64 * 1024).build();
+    Assertions.assertNull(Intera.builder().defaultAssociations().build().cacheStats());
+
+    for (int round = 0; round < 10; round++) {
+      for (int i = 1; i <= 3999; i += round + 1) {
+        Assertions.assertEquals(Intera.defaults().write(i), intera.write(i));
+        Assertions.assertEquals(i, intera.parse(Intera.defaults().write(i)));
+      }
+    }
+    Assertions.assertThrows(InteraException.class, () -> intera.parse("IIII"));
+    Assertions.assertThrows(InteraException.class, () -> intera.parse("IIII"));
+
+    final Intera.CacheStats stats = intera.cacheStats();
+    Assertions.assertNotNull(stats);
+    Assertions.assertTrue(stats.getHitCount() > 0);
+    Assertions.assertTrue(stats.getMissCount() > 0);
+    Assertions.assertTrue(stats.getEvictionCount() > 0);
+    Assertions.assertTrue(stats.getCapacity() <= 64 * 1024 / 64);
+  }
+
+  @Test
+  void testCacheBudget() {
+    final Intera intera = Intera.builder()
+      .defaultAssociations()
+      .maxSameCharsInRow(Integer.MAX_VALUE)
+      .cache(64 * 1024)
+      .build();
+    for (int round = 0; round < 10; round++) {
+      for (int i = 0; i < 1000; i++) {
+        // rome numbers of about 1000 chars each
+        final String rome = intera.write(1_000_000 + i * 997);
+        Assertions.assertEquals(1_000_000 + i * 997, intera.parse(rome));
+      }
+    }
+
+    final NumberCache cache = (NumberCache) intera.cacheStats();
+    Assertions.assertNotNull(cache);
+    Assertions.assertTrue(cache.getHitCount() > 0);
+    Assertions.assertTrue(cache.getEntryBytes() > 0);
+    Assertions.assertTrue(cache.getEntryBytes() <= 64 * 1024);
+  }
+
+  @Test
+  void testShortestPrecomputation() {
+    final Intera shortest = Intera.builder()
+      .defaultAssociations()
+      .registerAssociation('ↁ', 5000)
+      .registerAssociation('ↂ', 10000)
+      .precompute(39999)
+      .precomputeShortest(true)
+      .build();
+    Assertions.assertEquals("ↂↁM", shortest.write(16000));
+    Assertions.assertEquals("MMMDD", shortest.write(4000));
+    for (int i = 1; i <= 39999; i++) {
+      Assertions.assertEquals(i, shortest.parse(shortest.write(i)));
+    }
+
+    final Intera unwritable = Intera.builder()
+      .registerAssociation('I', 1)
+      .registerAssociation('X', 15)
+      .maxSameCharsInRow(2)
+      .precompute(40)
+      .precomputeShortest(true)
+      .build();
+    Assertions.assertEquals("II", unwritable.write(2));
+    Assertions.assertThrows(InteraException.class, () -> unwritable.write(3));
+    Assertions.assertThrows(InteraException.class, () -> unwritable.writeTo(3, new StringBuilder()));
+    Assertions.assertThrows(InteraException.class, () -> unwritable.newEncoder().encode(3));
+
+    final Intera defaults = Intera.builder().defaultAssociations().precompute(3999).precomputeShortest(true).build();
+    for (int i = 1; i <= 3999; i++) {
+      Assertions.assertEquals(Intera.defaults().write(i), defaults.write(i));
+    }
+  }
+
+  @Test
+  void testLenientParse() {
+    final Intera intera = Intera.builder()
+      .defaultAssociations()
+      .ignoreCase(true)
+      .ignoredChars(' ', '\t', '.', '_')
+      .build();
+    Assertions.assertEquals(1990, intera.parse(" mcmxc "));
+    Assertions.assertEquals(1990, intera.parse("Mcm XC"));
+    Assertions.assertEquals(2026, intera.parse("M.M_x\tX v I"));
+    Assertions.assertEquals("MCMXC", intera.write(1990));
+    Assertions.assertThrows(InteraException.class, () -> intera.parse("II iI"));
+    Assertions.assertThrows(InteraException.class, () -> intera.parse("MCM-XC"));
+
+    Assertions.assertThrows(InteraException.class, () -> Intera.defaults().parse("mcmxc"));
+    Assertions.assertThrows(InteraException.class, () -> Intera.builder().defaultAssociations().ignoredChars('I').build());
+  }
+
+  @Test
+  void testLenientByteBufferDecoding() {
+    final Intera intera = Intera.builder()
+      .defaultAssociations()
+      .ignoreCase(true)
+      .ignoredChars(' ')
+      .build();
+    final ByteBuffer buffer = ByteBuffer.wrap(" mcm xc ;".getBytes(StandardCharsets.US_ASCII));
+    Assertions.assertEquals(1990, intera.newDecoder().decode(buffer));
+    // trailing ignored chars are not part of the rome number
+    Assertions.assertEquals(7, buffer.position());
+    Assertions.assertEquals(0, intera.newDecoder().decode(buffer));
+    Assertions.assertEquals(7, buffer.position());
+  }
+
+  @Test
+  void testGenericByteBufferDecoding() {
+    final Intera delegate = Intera.builder()
+      .defaultAssociations()
+      .registerAssociation('ↁ', 5000)
+      .registerAssociation('ↂ', 10000)
+      .build();
+    final Intera intera = new Intera() {
+      @Override
+      public int parse(@NotNull String romeNumberText) {
+        return delegate.parse(romeNumberText);
+      }
+
+      @Override
+      public @NotNull String write(int number) {
+        return delegate.write(number);
+      }
+    };
+
+    final Intera.Decoder decoder = intera.newDecoder();
+    final ByteBuffer buffer = ByteBuffer.wrap("ↂↁMM;XIIII;".getBytes(StandardCharsets.UTF_8));
+    Assertions.assertEquals(17000, decoder.decode(buffer));
+    Assertions.assertEquals(';', buffer.get());
+    final int position = buffer.position();
+    Assertions.assertThrows(InteraException.class, () -> decoder.decode(buffer));
+    Assertions.assertEquals(position, buffer.position());
+
+    final Intera.Decoder lambdaDecoder = (text, start, end) -> intera.parse(text.subSequence(start, end).toString());
+    Assertions.assertEquals(12, lambdaDecoder.decode(ByteBuffer.wrap("XII".getBytes(StandardCharsets.UTF_8))));
+  }
+
+  @Test
+  void testMalformedUtf8Decoding() {
+    final Intera.Decoder[] decoders = {
+      Intera.defaults().newDecoder(),
+      (text, start, end) -> Intera.defaults().parse(text.subSequence(start, end).toString())
+    };
+    for (Intera.Decoder decoder : decoders) {
+      // "XII" using overlong two byte encodings, nothing is decoded which is the empty rome number
+      final ByteBuffer overlong = ByteBuffer.wrap(new byte[]{(byte) 0xC1, (byte) 0x98, (byte) 0xC1, (byte) 0x89, (byte) 0xC1, (byte) 0x89});
+      Assertions.assertEquals(0, decoder.decode(overlong));
+      Assertions.assertEquals(0, overlong.position());
+
+      final ByteBuffer overlongThreeBytes = ByteBuffer.wrap(new byte[]{'X', (byte) 0xE0, (byte) 0x81, (byte) 0x89});
+      Assertions.assertEquals(10, decoder.decode(overlongThreeBytes));
+      Assertions.assertEquals(1, overlongThreeBytes.position());
+
+      final ByteBuffer surrogate = ByteBuffer.wrap(new byte[]{'X', 'I', (byte) 0xED, (byte) 0xA0, (byte) 0x80});
+      Assertions.assertEquals(11, decoder.decode(surrogate));
+      Assertions.assertEquals(2, surrogate.position());
+    }
+  }
 }
@@ -27,6 +27,10 @@
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.Test;
 
+import java.nio.BufferOverflowException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+
 final class DefaultInteraTest {
 
   @Test
@@ -48,6 +52,19 @@ void testInvalidParse() {
     Assertions.assertThrows(InteraException.class, () -> Intera.defaults().parse("IIII"));
     // Unknown number char
     Assertions.assertThrows(InteraException.class, () -> Intera.defaults().parse("VQII"));
+    // Too many numbers of type 'I' after another number
+    Assertions.assertThrows(InteraException.class, () -> Intera.defaults().parse("XIIII"));
+  }
+
+  @Test
+  void testSameCharsInRow() {
+    Assertions.assertEquals(11, Intera.defaults().parse("IIXI"));
+    Assertions.assertThrows(InteraException.class, () -> Intera.defaults().parse("XIIIIX"));
+
+    final Intera intera = Intera.builder().defaultAssociations().maxSameCharsInRow(2).build();
+    Assertions.assertEquals(100, intera.parse("XCX"));
+    Assertions.assertEquals(1990, intera.parse("MCMXC"));
+    Assertions.assertThrows(InteraException.class, () -> intera.parse("XXX"));
   }
 
   @Test
@@ -60,4 +77,43 @@ void testCorrectSerialize() {
     Assertions.assertEquals("MMXXIV", Intera.defaults().write(2024));
     Assertions.assertEquals("MDCCLXXX", Intera.defaults().write(1780));
   }
+
+  @Test
+  void testEncoderDecoder() {
+    final Intera.Encoder encoder = Intera.defaults().newEncoder();
+    final Intera.Decoder decoder = Intera.defaults().newDecoder();
+    for (int i = 1; i <= 3999; i++) {
+      final CharSequence rome = encoder.encode(i);
+      Assertions.assertEquals(Intera.defaults().write(i), rome.toString());
+      Assertions.assertEquals(i, decoder.decode(rome));
+    }
+
+    Assertions.assertEquals(1780, decoder.decode("Year MDCCLXXX.", 5, 13));
+    Assertions.assertThrows(InteraException.class, () -> decoder.decode("IC"));
+    Assertions.assertThrows(InteraException.class, () -> decoder.decode("IV", 1, 3));
+  }
+
+  @Test
+  void testByteBufferCoding() {
+    final Intera.Encoder encoder = Intera.defaults().newEncoder();
+    final Intera.Decoder decoder = Intera.defaults().newDecoder();
+    for (ByteBuffer buffer : new ByteBuffer[]{ByteBuffer.allocate(64), ByteBuffer.allocateDirect(64)}) {
+      buffer.put((byte) '[');
+      encoder.encode(1780, buffer);
+      buffer.put((byte) ' ');
+      encoder.encode(2024, buffer);
+      buffer.put((byte) ']').flip();
+
+      Assertions.assertEquals('[', buffer.get());
+      Assertions.assertEquals(1780, decoder.decode(buffer));
+      Assertions.assertEquals(' ', buffer.get());
+      Assertions.assertEquals(2024, decoder.decode(buffer));
+      Assertions.assertEquals(']', buffer.get());
+    }
+
+    final ByteBuffer invalid = ByteBuffer.wrap("XIIII;".getBytes(StandardCharsets.US_ASCII));
+    Assertions.assertThrows(InteraException.class, () -> decoder.decode(invalid));
+    Assertions.assertEquals(0, invalid.position());
+    Assertions.assertThrows(BufferOverflowException.class, () -> encoder.encode(1780, ByteBuffer.allocate(4)));
+  }
 }
@@ -0,0 +1,55 @@
+/*
+ * This file is part of intera, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) Pasqual Koschmieder <https://github.com/derklaro>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.github.derklaro;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+
+/**
+ * Generates the snapshot of the default intera instance shipped with intera. Run it using
+ * {@code ./gradlew generateDefaultSnapshot} after changing the default mappings, rules or the
+ * snapshot format, optionally passing the path of the snapshot file as argument.
+ *
+ * @author Pasqual Koschmieder
+ * @since 1.1.0
+ */
+final class DefaultSnapshotGenerator {
+
+  private DefaultSnapshotGenerator() {
+    throw new UnsupportedOperationException();
+  }
+
+  public static void main(String[] args) throws IOException {
+    final Path target = Paths.get(args.length > 0 ? args[0] : "src/main/resources/" + Utils.DEFAULT_SNAPSHOT);
+    Files.createDirectories(target.toAbsolutePath().getParent());
+    try (OutputStream out = Files.newOutputStream(target)) {
+      InteraSnapshot.write(Utils.computeDefaultImpl(), out);
+    }
+    System.out.println("Generated " + target.toAbsolutePath());
+  }
+}
@@ -0,0 +1,64 @@
+/*
+ * This file is part of intera, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) Pasqual Koschmieder <https://github.com/derklaro>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.github.derklaro;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeFormatterBuilder;
+import java.time.format.DateTimeParseException;
+import java.time.temporal.ChronoField;
+
+final class InteraDateTimeTest {
+
+  @Test
+  void testFormatAndParse() {
+    final DateTimeFormatterBuilder builder = new DateTimeFormatterBuilder();
+    InteraDateTime.appendRome(builder, Intera.defaults(), ChronoField.DAY_OF_MONTH).appendLiteral('.');
+    InteraDateTime.appendRome(builder, Intera.defaults(), ChronoField.MONTH_OF_YEAR).appendLiteral('.');
+    InteraDateTime.appendRome(builder, Intera.defaults(), ChronoField.YEAR);
+    final DateTimeFormatter formatter = builder.toFormatter();
+
+    Assertions.assertEquals("XVII.X.MMXXVI", formatter.format(LocalDate.of(2026, 10, 17)));
+    Assertions.assertEquals("XXXI.XII.MCMXCIX", formatter.format(LocalDate.of(1999, 12, 31)));
+    Assertions.assertEquals("I.I.4000", formatter.format(LocalDate.of(4000, 1, 1)));
+
+    for (LocalDate date = LocalDate.of(1990, 1, 1); date.getYear() < 2030; date = date.plusDays(13)) {
+      Assertions.assertEquals(date, LocalDate.parse(formatter.format(date), formatter));
+    }
+    Assertions.assertThrows(DateTimeParseException.class, () -> LocalDate.parse("XVII.XIII.MMXXVI", formatter));
+  }
+
+  @Test
+  void testRomeTexts() {
+    Assertions.assertEquals(12, InteraDateTime.romeTexts(Intera.defaults(), 1, 12).size());
+    Assertions.assertEquals("XII", InteraDateTime.romeTexts(Intera.defaults(), 1, 12).get(12L));
+    Assertions.assertThrows(InteraException.class, () -> InteraDateTime.romeTexts(Intera.defaults(), 0, 12));
+    Assertions.assertThrows(InteraException.class, () -> InteraDateTime.appendRome(
+      new DateTimeFormatterBuilder(), Intera.defaults(), ChronoField.YEAR, 2000, 1000));
+  }
+}
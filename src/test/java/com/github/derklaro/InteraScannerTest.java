@@ -0,0 +1,116 @@
+/*
+ * This file is part of intera, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) Pasqual Koschmieder <https://github.com/derklaro>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.github.derklaro;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.io.StringReader;
+import java.io.StringWriter;
+import java.io.Writer;
+
+final class InteraScannerTest {
+
+  @Test
+  void testRomeToArabic() {
+    final StringBuilder builder = new StringBuilder();
+    InteraScanner.romeToArabic(Intera.defaults()).scan("Chapter XIV: Louis XVI (MDCCLXXX), not IIII, XIVth or XCV2.", builder);
+    Assertions.assertEquals("Chapter 14: Louis 16 (1780), not IIII, XIVth or XCV2.", builder.toString());
+  }
+
+  @Test
+  void testArabicToRome() {
+    final StringBuilder builder = new StringBuilder();
+    InteraScanner.arabicToRome(Intera.defaults()).scan("In 1780 and 2024, not 0, 2nd or 99999999999.", builder);
+    Assertions.assertEquals("In MDCCLXXX and MMXXIV, not 0, 2nd or 99999999999.", builder.toString());
+  }
+
+  @Test
+  void testReader() {
+    final StringBuilder text = new StringBuilder();
+    final StringBuilder expected = new StringBuilder();
+    for (int i = 1; i <= 3999; i++) {
+      text.append("Part ").append(Intera.defaults().write(i)).append(".\n");
+      expected.append("Part ").append(i).append(".\n");
+    }
+
+    final StringWriter writer = new StringWriter();
+    InteraScanner.romeToArabic(Intera.defaults()).scan(new StringReader(text.toString()), writer);
+    Assertions.assertEquals(expected.toString(), writer.toString());
+  }
+
+  @Test
+  void testCustomAlphabet() {
+    final Intera intera = Intera.builder()
+      .defaultAssociations()
+      .registerAssociation('ↁ', 5000)
+      .registerAssociation('ↂ', 10000)
+      .build();
+
+    final StringBuilder builder = new StringBuilder();
+    InteraScanner.romeToArabic(intera).scan("Year ↂↁM, not XↁI or ↂX-ↁ.", builder);
+    Assertions.assertEquals("Year 16000, not XↁI or 10010-5000.", builder.toString());
+
+    builder.setLength(0);
+    InteraScanner.arabicToRome(intera).scan("Year 20000, not ↁ4.", builder);
+    Assertions.assertEquals("Year ↂↂ, not ↁ4.", builder.toString());
+  }
+
+  @Test
+  void testWriterCharArrays() {
+    final StringBuilder written = new StringBuilder();
+    final Writer writer = new Writer() {
+      @Override
+      public void write(char[] buffer, int offset, int length) {
+        written.append(buffer, offset, length);
+      }
+
+      @Override
+      public Writer append(CharSequence text, int start, int end) {
+        throw new AssertionError("Appended a char sequence instead of a char array");
+      }
+
+      @Override
+      public Writer append(CharSequence text) {
+        throw new AssertionError("Appended a char sequence instead of a char array");
+      }
+
+      @Override
+      public void flush() {
+      }
+
+      @Override
+      public void close() {
+      }
+    };
+
+    InteraScanner.arabicToRome(Intera.defaults()).scan("In 1780 and 2024, not 0.", writer);
+    Assertions.assertEquals("In MDCCLXXX and MMXXIV, not 0.", written.toString());
+
+    written.setLength(0);
+    InteraScanner.romeToArabic(Intera.defaults()).scan(new StringReader("Louis XVI (MDCCLXXX)."), writer);
+    Assertions.assertEquals("Louis 16 (1780).", written.toString());
+  }
+}
@@ -0,0 +1,145 @@
+/*
+ * This file is part of intera, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) Pasqual Koschmieder <https://github.com/derklaro>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.github.derklaro;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+final class InteraSnapshotTest {
+
+  @Test
+  void testRoundTrip() {
+    final Intera intera = Intera.builder()
+      .defaultAssociations()
+      .subtractionValidator(SubtractionValidator.disabled())
+      .precompute(2000)
+      .build();
+    final Intera loaded = InteraSnapshot.read(ByteBuffer.wrap(InteraSnapshot.toByteArray(intera)));
+
+    Assertions.assertEquals("MDCIC", loaded.write(1699));
+    Assertions.assertEquals(95, loaded.parse("VC"));
+    for (int i = 1; i <= 2500; i++) {
+      Assertions.assertEquals(intera.write(i), loaded.write(i));
+    }
+  }
+
+  @Test
+  void testByteOrderIsIgnored() {
+    final Intera intera = Intera.builder().defaultAssociations().precompute(100).build();
+    final byte[] snapshot = InteraSnapshot.toByteArray(intera);
+    final ByteBuffer buffer = ByteBuffer.allocate(snapshot.length + 1).order(ByteOrder.LITTLE_ENDIAN);
+    buffer.put(snapshot).put((byte) 42).flip();
+
+    final Intera loaded = InteraSnapshot.read(buffer);
+    Assertions.assertEquals(ByteOrder.LITTLE_ENDIAN, buffer.order());
+    Assertions.assertEquals(snapshot.length, buffer.position());
+    Assertions.assertEquals(42, buffer.get());
+    for (int i = 1; i <= 200; i++) {
+      Assertions.assertEquals(intera.write(i), loaded.write(i));
+    }
+  }
+
+  @Test
+  void testRulesAreKept() {
+    final Intera loaded = InteraSnapshot.read(ByteBuffer.wrap(InteraSnapshot.toByteArray(Intera.builder()
+      .defaultAssociations()
+      .maxSameCharsInRow(4)
+      .ignoreCase(true)
+      .ignoredChars(' ')
+      .build())));
+
+    Assertions.assertEquals(4, loaded.parse("IIII"));
+    Assertions.assertEquals(1990, loaded.parse(" Mcm xc "));
+    Assertions.assertEquals("MMMM", loaded.write(4000));
+    Assertions.assertThrows(InteraException.class, () -> loaded.parse("IC"));
+  }
+
+  @Test
+  void testMappedSnapshot() throws IOException {
+    final Intera intera = Intera.builder().defaultAssociations().precompute(3999).build();
+    final Path file = Files.createTempFile("intera", ".intera");
+    try {
+      Files.write(file, InteraSnapshot.toByteArray(intera));
+      final Intera mapped = InteraSnapshot.map(file);
+      for (int i = 1; i <= 4000; i++) {
+        final StringBuilder builder = new StringBuilder();
+        mapped.writeTo(i, builder);
+        Assertions.assertEquals(intera.write(i), mapped.write(i));
+        Assertions.assertEquals(intera.write(i), builder.toString());
+      }
+      Assertions.assertEquals(1780, mapped.parse("MDCCLXXX"));
+    } finally {
+      try {
+        Files.deleteIfExists(file);
+      } catch (IOException exception) {
+        // windows does not allow to delete a file while it is mapped
+        file.toFile().deleteOnExit();
+      }
+    }
+  }
+
+  @Test
+  void testShippedDefaults() throws IOException {
+    final ByteArrayOutputStream shipped = new ByteArrayOutputStream();
+    try (InputStream source = InteraSnapshot.class.getClassLoader().getResourceAsStream(Utils.DEFAULT_SNAPSHOT)) {
+      Assertions.assertNotNull(source);
+      final byte[] buffer = new byte[8192];
+      int read;
+      while ((read = source.read(buffer)) != -1) {
+        shipped.write(buffer, 0, read);
+      }
+    }
+
+    Assertions.assertArrayEquals(
+      InteraSnapshot.toByteArray(Utils.computeDefaultImpl()),
+      shipped.toByteArray(),
+      "Shipped snapshot is outdated, run ./gradlew generateDefaultSnapshot");
+  }
+
+  @Test
+  void testInvalidSnapshot() {
+    Assertions.assertThrows(InteraException.class, () -> InteraSnapshot.read(ByteBuffer.wrap(new byte[]{1, 2, 3, 4, 5})));
+    Assertions.assertThrows(InteraException.class, () -> InteraSnapshot.read(ByteBuffer.wrap(new byte[]{0x49, 0x4E})));
+    Assertions.assertThrows(InteraException.class, () -> InteraSnapshot.toByteArray(new Intera() {
+      @Override
+      public int parse(String romeNumberText) {
+        return 0;
+      }
+
+      @Override
+      public String write(int number) {
+        return "";
+      }
+    }));
+  }
+}